@@ -12,6 +12,11 @@ public class EnvLoader implements ApplicationContextInitializer<ConfigurableAppl
 
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
+        // Em produção as variáveis vêm do ambiente; o perfil inicio-rapido desliga a leitura do .env
+        if (!applicationContext.getEnvironment().getProperty("dotenv.habilitado", Boolean.class, true)) {
+            return;
+        }
+
         Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
 
         Map<String, Object> envMap = new HashMap<>();
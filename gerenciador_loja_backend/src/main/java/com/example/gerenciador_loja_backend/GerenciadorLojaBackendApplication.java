@@ -1,8 +1,10 @@
 package com.example.gerenciador_loja_backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GerenciadorLojaBackendApplication {
 
 	public static void main(String[] args) {
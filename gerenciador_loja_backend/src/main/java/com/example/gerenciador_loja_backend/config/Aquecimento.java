@@ -0,0 +1,158 @@
+package com.example.gerenciador_loja_backend.config;
+
+import com.example.gerenciador_loja_backend.repositories.UsuarioRepository;
+import com.example.gerenciador_loja_backend.security.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Perfil {@code inicio-rapido}: aquece os caminhos quentes antes de a
+ * instância receber tráfego.
+ * <p>
+ * Roda como {@link ApplicationRunner}, com o Tomcat já de pé mas o readiness
+ * ({@code /readyz}) ainda recusando tráfego até ele terminar. Faz um número
+ * fixo e pequeno de GETs HTTP na própria porta, pela pilha inteira (filtros,
+ * JWT, controller, consulta e serialização): só páginas por keyset de
+ * {@code /pedidos}, nos dois sentidos, com e sem HAL, seguindo o cursor, e
+ * um pedido por id. Nada de contagem, busca sem filtro ou devedores, que
+ * varrem tabelas inteiras. O token é emitido para a primeira conta
+ * cadastrada e não sai do processo; sem contas, as requisições passam só
+ * pelos filtros.
+ * <p>
+ * Com {@code aquecimento.treino=true} a aplicação encerra assim que fica
+ * pronta: é a execução de treino que grava o arquivo CDS no build (perfil
+ * Maven {@code inicio-rapido}), com as classes de todo esse caminho já carregadas.
+ */
+@Component
+@Profile("inicio-rapido")
+public class Aquecimento implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(Aquecimento.class);
+
+    private static final String JSON_SIMPLES = "application/vnd.gerenciador-loja+json";
+    private static final int TAMANHO_PAGINA = 20;
+
+    private final TokenService tokenService;
+    private final UsuarioRepository usuarioRepository;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext contexto;
+    private final int requisicoes;
+    private final Duration duracaoMaxima;
+    private final boolean treino;
+
+    public Aquecimento(TokenService tokenService,
+                       UsuarioRepository usuarioRepository,
+                       ObjectMapper objectMapper,
+                       ConfigurableApplicationContext contexto,
+                       @Value("${aquecimento.requisicoes:20}") int requisicoes,
+                       @Value("${aquecimento.duracao-maxima:PT10S}") Duration duracaoMaxima,
+                       @Value("${aquecimento.treino:false}") boolean treino) {
+        this.tokenService = tokenService;
+        this.usuarioRepository = usuarioRepository;
+        this.objectMapper = objectMapper;
+        this.contexto = contexto;
+        this.requisicoes = requisicoes;
+        this.duracaoMaxima = duracaoMaxima;
+        this.treino = treino;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long inicio = System.nanoTime();
+        long limite = inicio + duracaoMaxima.toNanos();
+
+        int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        String base = "http://localhost:" + porta;
+        String autorizacao = usuarioRepository.findFirstByOrderByUsernameAsc()
+                .map(usuario -> "Bearer " + tokenService.generateToken(usuario))
+                .orElse(null);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        int feitas = 0;
+        int erros = 0;
+        String cursor = null;
+        String idPedido = null;
+        while (feitas < requisicoes && System.nanoTime() < limite) {
+            String caminho;
+            String tipo;
+            switch (feitas % 4) {
+                case 0 -> {
+                    caminho = pagina(null, "RECENTE");
+                    tipo = "application/hal+json";
+                }
+                case 1 -> {
+                    caminho = pagina(null, "ANTIGO");
+                    tipo = JSON_SIMPLES;
+                }
+                case 2 -> {
+                    caminho = pagina(cursor, "ANTIGO");
+                    tipo = JSON_SIMPLES;
+                }
+                default -> {
+                    caminho = idPedido != null ? "/pedidos/" + idPedido : pagina(null, "RECENTE");
+                    tipo = "application/json";
+                }
+            }
+
+            HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(base + caminho))
+                    .header("Accept", tipo)
+                    .timeout(Duration.ofSeconds(5))
+                    .GET();
+            if (autorizacao != null) requisicao.header("Authorization", autorizacao);
+            HttpResponse<byte[]> resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+            feitas++;
+            if (resposta.statusCode() >= 400) {
+                erros++;
+                continue;
+            }
+
+            // a página simples dá o cursor da próxima e um id para a busca por chave
+            if (JSON_SIMPLES.equals(tipo)) {
+                JsonNode pagina = objectMapper.readTree(resposta.body());
+                cursor = pagina.path("proximoCursor").textValue();
+                JsonNode primeiro = pagina.path("pedidos").path(0);
+                if (!primeiro.isMissingNode()) idPedido = primeiro.path("id").asText();
+            }
+        }
+
+        log.info("Aquecimento: {} requisições ({} com erro) em {} ms",
+                feitas, erros, Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+    }
+
+    private static String pagina(String cursor, String ordem) {
+        String caminho = "/pedidos?tamanho=" + TAMANHO_PAGINA + "&ordem=" + ordem;
+        return cursor == null ? caminho : caminho + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    // Depois de todos os outros listeners de ApplicationReadyEvent (índice de busca, lista de revogação)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void encerrarTreino() {
+        if (treino) {
+            log.info("Execução de treino concluída; encerrando");
+            System.exit(SpringApplication.exit(contexto));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.gerenciador_loja_backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita quantas conexões podem estar em uso ao mesmo tempo.
+ * <p>
+ * Com threads virtuais não há mais o teto do pool do Tomcat: milhares de
+ * requisições podem pedir conexão ao Hikari ao mesmo tempo. Aqui elas esperam
+ * num semáforo justo (que estaciona a thread virtual sem prender a thread
+ * portadora) e só chegam ao pool quando há conexão para elas. A permissão é
+ * devolvida no {@code close()} da conexão.
+ */
+public class LimiteConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final long esperaNanos;
+
+    public LimiteConexoesDataSource(DataSource alvo, int maximoConexoes, Duration espera) {
+        super(alvo);
+        this.permissoes = new Semaphore(maximoConexoes, true);
+        this.esperaNanos = espera.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    public int disponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    public int aguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Limite de conexões simultâneas atingido ("
+                        + aguardando() + " aguardando)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    // Devolve a permissão uma única vez, no primeiro close()
+    private Connection liberarAoFechar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close") && metodo.getParameterCount() == 0) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            if (fechada.compareAndSet(false, true)) {
+                                permissoes.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if (metodo.getName().equals("equals") && metodo.getParameterCount() == 1) {
+                        return proxy == argumentos[0];
+                    }
+                    if (metodo.getName().equals("hashCode") && metodo.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
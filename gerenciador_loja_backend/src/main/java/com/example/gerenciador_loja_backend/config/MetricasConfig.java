@@ -0,0 +1,50 @@
+package com.example.gerenciador_loja_backend.config;
+
+import com.example.gerenciador_loja_backend.security.TokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Métricas de componentes que não dependem do Micrometer (o cache de tokens guarda as próprias estatísticas)
+@Configuration(proxyBeanMethods = false)
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder metricasTokenCache(TokenCache tokenCache) {
+        return registry -> {
+            FunctionCounter.builder("seguranca.token.cache", tokenCache, TokenCache::acertos)
+                    .tag("resultado", "acerto").register(registry);
+            FunctionCounter.builder("seguranca.token.cache", tokenCache, TokenCache::falhas)
+                    .tag("resultado", "falha").register(registry);
+            Gauge.builder("seguranca.token.cache.tamanho", tokenCache, TokenCache::tamanho)
+                    .register(registry);
+        };
+    }
+
+    // Taxa de acerto acumulada por região do cache de segundo nível (entidades e consultas).
+    // Os contadores brutos já saem em hibernate.second.level.cache.requests e hibernate.cache.query.requests
+    @Bean
+    public MeterBinder metricasCacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String regiao : estatisticas.getSecondLevelCacheRegionNames()) {
+                Gauge.builder("hibernate.cache.acerto", estatisticas,
+                                e -> taxaDeAcerto(e.getCacheRegionStatistics(regiao)))
+                        .tag("regiao", regiao)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double taxaDeAcerto(CacheRegionStatistics regiao) {
+        if (regiao == null) return Double.NaN;
+        long total = regiao.getHitCount() + regiao.getMissCount();
+        return total == 0 ? Double.NaN : (double) regiao.getHitCount() / total;
+    }
+}
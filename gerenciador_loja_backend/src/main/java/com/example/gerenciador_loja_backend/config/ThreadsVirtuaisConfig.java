@@ -0,0 +1,38 @@
+package com.example.gerenciador_loja_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Perfil {@code threads-virtuais}: o Spring Boot coloca requisições do
+ * Tomcat, MVC assíncrono e {@code @Async} em threads virtuais
+ * ({@code spring.threads.virtual.enabled=true} no arquivo do perfil).
+ * <p>
+ * Como o Tomcat deixa de limitar a concorrência, o DataSource é envolvido
+ * por {@link LimiteConexoesDataSource}.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("threads-virtuais")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public static BeanPostProcessor limiteDeConexoes(
+            @Value("${jdbc.limite.maximo-conexoes:${spring.datasource.hikari.maximum-pool-size:10}}") int maximoConexoes,
+            @Value("${jdbc.limite.espera:PT30S}") Duration espera) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LimiteConexoesDataSource)) {
+                    return new LimiteConexoesDataSource(dataSource, maximoConexoes, espera);
+                }
+                return bean;
+            }
+        };
+    }
+}
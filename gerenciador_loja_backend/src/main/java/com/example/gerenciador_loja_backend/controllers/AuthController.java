@@ -1,20 +1,31 @@
 package com.example.gerenciador_loja_backend.controllers;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.gerenciador_loja_backend.dtos.LoginDto;
 import com.example.gerenciador_loja_backend.dtos.LoginResponseDto;
 import com.example.gerenciador_loja_backend.dtos.RegisterRequestDto;
 import com.example.gerenciador_loja_backend.models.Usuario;
 import com.example.gerenciador_loja_backend.repositories.UsuarioRepository;
+import com.example.gerenciador_loja_backend.security.Administradores;
+import com.example.gerenciador_loja_backend.security.LimiteTentativasLogin;
+import com.example.gerenciador_loja_backend.security.ListaRevogacao;
+import com.example.gerenciador_loja_backend.security.SenhaService;
 import com.example.gerenciador_loja_backend.security.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -22,25 +33,67 @@ public class AuthController {
 
     private final UsuarioRepository usuarioRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final SenhaService senhaService;
+
+    private final LimiteTentativasLogin limiteTentativasLogin;
 
     private final TokenService tokenService;
 
-    public AuthController(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
+    private final ListaRevogacao listaRevogacao;
+
+    private final Administradores administradores;
+
+    public AuthController(UsuarioRepository usuarioRepository,
+                          SenhaService senhaService,
+                          LimiteTentativasLogin limiteTentativasLogin,
+                          TokenService tokenService,
+                          ListaRevogacao listaRevogacao,
+                          Administradores administradores) {
         this.usuarioRepository = usuarioRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.senhaService = senhaService;
+        this.limiteTentativasLogin = limiteTentativasLogin;
         this.tokenService = tokenService;
+        this.listaRevogacao = listaRevogacao;
+        this.administradores = administradores;
     }
 
     @PostMapping("/login")
-    public ResponseEntity login(@RequestBody LoginDto loginDto) {
+    public ResponseEntity login(@RequestBody LoginDto loginDto, HttpServletRequest request) {
+
+        // Recusa antes do BCrypt: tentativas bloqueadas não gastam CPU.
+        // Atrás do proxy, o Tomcat já trocou o endereço pelo do cliente (server.forward-headers-strategy)
+        String ip = request.getRemoteAddr();
+        Optional<Duration> bloqueio = limiteTentativasLogin.bloqueio(loginDto.username(), ip);
+        if (bloqueio.isPresent()) {
+            // arredonda para cima: antes disso a tentativa ainda seria recusada
+            long segundos = Math.max(1, bloqueio.get().plusMillis(999).toSeconds());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(segundos))
+                    .body("Muitas tentativas de login. Tente novamente mais tarde.");
+        }
 
         // Busca o usuário pelo username
-        Usuario usuario = usuarioRepository.findByUsername(loginDto.username())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        Optional<Usuario> encontrado = usuarioRepository.findByUsername(loginDto.username());
+        if (encontrado.isEmpty()) {
+            limiteTentativasLogin.registrarFalha(loginDto.username(), ip);
+            throw new RuntimeException("User not found");
+        }
+        Usuario usuario = encontrado.get();
+
+        // Verifica senha no pool de BCrypt
+        SenhaService.Conferencia conferencia;
+        try {
+            conferencia = senhaService.conferir(loginDto.password(), usuario.getPassword());
+        } catch (RejectedExecutionException e) {
+            return servidorOcupado();
+        }
 
-        // Verifica senha (AGORA CORRETO)
-        if (passwordEncoder.matches(loginDto.password(), usuario.getPassword())) {
+        if (conferencia.confere()) {
+            limiteTentativasLogin.registrarSucesso(loginDto.username(), ip);
+            if (conferencia.rehash() != null) {
+                usuario.setPassword(conferencia.rehash());
+                usuarioRepository.save(usuario);
+            }
 
             // Gera o token JWT
             String token = this.tokenService.generateToken(usuario);
@@ -52,6 +105,7 @@ public class AuthController {
             ));
         }
 
+        limiteTentativasLogin.registrarFalha(loginDto.username(), ip);
         return ResponseEntity.badRequest().body("Invalid credentials");
     }
 
@@ -63,10 +117,18 @@ public class AuthController {
         if (usuario.isPresent()) {
             return ResponseEntity.badRequest().body("Usuário já existe");
         }
+        // um nome da lista de administradores ainda sem conta não pode ser tomado pelo cadastro público
+        if (administradores.contem(registerRequestDto.username())) {
+            return ResponseEntity.badRequest().body("Nome de usuário reservado");
+        }
 
         Usuario newUser = new Usuario();
         newUser.setUsername(registerRequestDto.username());
-        newUser.setPassword(passwordEncoder.encode(registerRequestDto.password()));
+        try {
+            newUser.setPassword(senhaService.codificar(registerRequestDto.password()));
+        } catch (RejectedExecutionException e) {
+            return servidorOcupado();
+        }
 
         usuarioRepository.save(newUser);
 
@@ -77,4 +139,40 @@ public class AuthController {
         return ResponseEntity.ok(new LoginResponseDto(newUser.getUsername(), token));
     }
 
+    // Revoga o token usado nesta requisição até o exp dele
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        String token = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        DecodedJWT jwt = tokenService.verifyToken(token);
+        if (jwt == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (jwt.getId() == null) {
+            // tokens emitidos antes do jti não podem ser revogados um a um; expiram sozinhos
+            return ResponseEntity.badRequest().body("Token sem identificador: faça login novamente para obter um revogável");
+        }
+
+        listaRevogacao.revogarToken(token, jwt);
+        return ResponseEntity.ok("Logout realizado");
+    }
+
+
+    // Revoga todos os tokens já emitidos para o usuário (ex.: desligamento, senha vazada); só administradores
+    @PostMapping("/revogar/{username}")
+    public ResponseEntity<String> revogarUsuario(@PathVariable String username) {
+        Optional<Usuario> usuario = usuarioRepository.findByUsername(username);
+        if (usuario.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não encontrado");
+        }
+
+        listaRevogacao.revogarUsuario(username, usuario.get().getId(), tokenService.expiracaoMaxima());
+        return ResponseEntity.ok("Tokens do usuário revogados");
+    }
+
+    // Pool de BCrypt saturado: recusa rápido em vez de segurar a thread da requisição
+    private static ResponseEntity<String> servidorOcupado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Servidor ocupado. Tente novamente em instantes.");
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.gerenciador_loja_backend.controllers;
 
+import com.example.gerenciador_loja_backend.dtos.ClienteDevedorDto;
 import com.example.gerenciador_loja_backend.dtos.ClienteDto;
+import com.example.gerenciador_loja_backend.dtos.ClienteFiltroRequest;
 import com.example.gerenciador_loja_backend.models.Cliente;
 import com.example.gerenciador_loja_backend.repositories.ClienteRepository;
 import com.example.gerenciador_loja_backend.services.ClienteService;
+import com.example.gerenciador_loja_backend.services.SaldoClienteService;
+import com.example.gerenciador_loja_backend.services.VersoesRecursos;
 import jakarta.validation.Valid;
 import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.CollectionModel;
@@ -12,7 +16,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 
@@ -26,8 +29,19 @@ public class ClienteController {
 
     private final ClienteService clienteService;
 
-    public ClienteController(ClienteService clienteService) {
+    private final SaldoClienteService saldoClienteService;
+
+    private final VersoesRecursos versoesRecursos;
+
+    private static final LinkPorId LINK_CLIENTE =
+            new LinkPorId(id -> methodOn(ClienteController.class).getOneCliente(id));
+
+    public ClienteController(ClienteService clienteService,
+                             SaldoClienteService saldoClienteService,
+                             VersoesRecursos versoesRecursos) {
         this.clienteService = clienteService;
+        this.saldoClienteService = saldoClienteService;
+        this.versoesRecursos = versoesRecursos;
     }
 
     @PostMapping("/clientes")
@@ -38,21 +52,63 @@ public class ClienteController {
 
     @GetMapping("/clientes")
     public ResponseEntity<CollectionModel<EntityModel<Cliente>>> getAllClientes() {
+        // ETag lido antes da consulta: se nada mudou, responde 304 sem ir ao banco
+        String etag = versoesRecursos.etagClientes();
+        ResponseEntity<CollectionModel<EntityModel<Cliente>>> naoModificado = RespostaCondicional.naoModificado(etag);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+
         List<Cliente> clientes = clienteService.listarClientes();
 
         List<EntityModel<Cliente>> clientesModel = clientes.stream()
-                .map(cliente -> EntityModel.of(cliente,
-                        linkTo(methodOn(ClienteController.class).getOneCliente(cliente.getId())).withSelfRel()
-                ))
+                .map(cliente -> EntityModel.of(cliente, LINK_CLIENTE.self(cliente.getId())))
                 .toList();
 
-        return ResponseEntity.ok(CollectionModel.of(clientesModel));
+        return RespostaCondicional.ok(etag, CollectionModel.of(clientesModel));
+    }
+
+    // Mesma lista sem HAL: um array simples de clientes
+    @GetMapping(value = "/clientes", produces = RespostaCondicional.JSON_SIMPLES)
+    public ResponseEntity<List<Cliente>> getAllClientesSimples() {
+        String etag = RespostaCondicional.etagSimples(versoesRecursos.etagClientes());
+        ResponseEntity<List<Cliente>> naoModificado = RespostaCondicional.naoModificado(etag);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+
+        return RespostaCondicional.ok(etag, clienteService.listarClientes());
+    }
+
+    @PostMapping("/clientes/filtrar")
+    public ResponseEntity<List<Cliente>> filtrarClientes(@RequestBody ClienteFiltroRequest filtro) {
+        return ResponseEntity.ok(clienteService.filtrarClientes(filtro));
+    }
+
+    // Maiores saldos em aberto primeiro, lidos pelo índice de saldo
+    @GetMapping("/clientes/devedores")
+    public ResponseEntity<List<ClienteDevedorDto>> getDevedores(
+            @RequestParam(defaultValue = "" + SaldoClienteService.LIMITE_PADRAO_DEVEDORES) int limit) {
+        return ResponseEntity.ok(saldoClienteService.devedores(limit));
+    }
+
+    // Recalcula saldo e pedidos em aberto de todos os clientes a partir dos pedidos; só administradores (SecurityConfig)
+    @PostMapping("/clientes/saldos/reconstruir")
+    public ResponseEntity<String> reconstruirSaldos() {
+        int clientes = saldoClienteService.reconstruir();
+        return ResponseEntity.ok("Saldos reconstruídos: " + clientes + " clientes com pedidos em aberto");
     }
 
     @GetMapping("/clientes/{id}")
     public ResponseEntity<Cliente> getOneCliente(@PathVariable UUID id) {
+        String etag = versoesRecursos.etagCliente(id);
+        ResponseEntity<Cliente> naoModificado = RespostaCondicional.naoModificado(etag);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+
         return clienteService.buscarClientePorId(id)
-                .map(ResponseEntity::ok)
+                .map(cliente -> RespostaCondicional.ok(etag, cliente))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
@@ -0,0 +1,54 @@
+package com.example.gerenciador_loja_backend.controllers;
+
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Link self de um recurso por id, sem um proxy de {@code methodOn} por linha.
+ * <p>
+ * Na primeira linha de cada requisição o link é montado uma vez por
+ * {@code linkTo(methodOn(...))} com um id sentinela, e o href resultante é
+ * guardado na requisição como molde (prefixo + sufixo). As demais linhas só
+ * concatenam o id, então o href é exatamente o que {@code linkTo} geraria,
+ * inclusive host e context path da requisição atual.
+ */
+public final class LinkPorId {
+
+    // UUID fixo que não aparece em nenhum outro trecho do href
+    private static final UUID SENTINELA = UUID.fromString("5e171e1a-0000-4000-8000-00000000cafe");
+
+    private final Function<UUID, Object> invocacao;
+    private final String atributo;
+
+    // invocacao: id -> methodOn(Controller.class).metodo(id)
+    public LinkPorId(Function<UUID, Object> invocacao) {
+        this.invocacao = invocacao;
+        this.atributo = LinkPorId.class.getName() + "@" + System.identityHashCode(this);
+    }
+
+    public Link self(UUID id) {
+        String[] molde = molde();
+        return Link.of(molde[0] + id + molde[1]);
+    }
+
+    private String[] molde() {
+        RequestAttributes requisicao = RequestContextHolder.currentRequestAttributes();
+        String[] molde = (String[]) requisicao.getAttribute(atributo, RequestAttributes.SCOPE_REQUEST);
+        if (molde == null) {
+            String href = linkTo(invocacao.apply(SENTINELA)).withSelfRel().getHref();
+            int posicao = href.indexOf(SENTINELA.toString());
+            molde = new String[] {
+                    href.substring(0, posicao),
+                    href.substring(posicao + SENTINELA.toString().length())
+            };
+            requisicao.setAttribute(atributo, molde, RequestAttributes.SCOPE_REQUEST);
+        }
+        return molde;
+    }
+}
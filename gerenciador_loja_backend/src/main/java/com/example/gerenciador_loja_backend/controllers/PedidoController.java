@@ -1,15 +1,41 @@
 package com.example.gerenciador_loja_backend.controllers;
 
+import com.example.gerenciador_loja_backend.dtos.BaixaParcelaDto;
 import com.example.gerenciador_loja_backend.dtos.PedidoDto;
-import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.dtos.PedidoFiltroDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoPagina;
+import com.example.gerenciador_loja_backend.dtos.PedidoResponseDto;
+import com.example.gerenciador_loja_backend.enuns.FormatoExportacao;
+import com.example.gerenciador_loja_backend.enuns.OrdemPedido;
+import com.example.gerenciador_loja_backend.services.PedidoExportService;
+import com.example.gerenciador_loja_backend.services.PedidoLoteService;
 import com.example.gerenciador_loja_backend.services.PedidoService;
+import com.example.gerenciador_loja_backend.services.VersoesRecursos;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -20,8 +46,27 @@ public class PedidoController {
 
     private final PedidoService pedidoService;
 
-    public PedidoController(PedidoService pedidoService) {
+    private final PedidoLoteService pedidoLoteService;
+
+    private final PedidoExportService pedidoExportService;
+
+    private final VersoesRecursos versoesRecursos;
+
+    private final Duration tempoMaximoExportacao;
+
+    private static final LinkPorId LINK_PEDIDO =
+            new LinkPorId(id -> methodOn(PedidoController.class).buscarPedido(id));
+
+    public PedidoController(PedidoService pedidoService,
+                            PedidoLoteService pedidoLoteService,
+                            PedidoExportService pedidoExportService,
+                            VersoesRecursos versoesRecursos,
+                            @Value("${pedidos.exportacao.tempo-maximo:PT30M}") Duration tempoMaximoExportacao) {
         this.pedidoService = pedidoService;
+        this.pedidoLoteService = pedidoLoteService;
+        this.pedidoExportService = pedidoExportService;
+        this.versoesRecursos = versoesRecursos;
+        this.tempoMaximoExportacao = tempoMaximoExportacao;
     }
 
 
@@ -31,37 +76,184 @@ public class PedidoController {
     }
 
 
+    // Recebe um array JSON de PedidoDto; o corpo é lido em streaming, sem montar a lista inteira em memória
+    @PostMapping(value = "/pedidos/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> importarPedidos(InputStream corpo) throws IOException {
+        try {
+            return ResponseEntity.ok(pedidoLoteService.importar(corpo));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+
     @GetMapping("/pedidos")
-    public ResponseEntity<CollectionModel<EntityModel<Pedido>>> listarPedidos() {
+    public ResponseEntity<Object> listarPedidos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PedidoService.TAMANHO_PADRAO_PAGINA) int tamanho,
+            @RequestParam(defaultValue = "RECENTE") OrdemPedido ordem) {
+
+        // o ETag vale por URL, então cursor/tamanho/ordem já fazem parte da chave do cache do cliente
+        String etag = versoesRecursos.etagPedidos();
+        ResponseEntity<Object> naoModificado = RespostaCondicional.naoModificado(etag);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
 
-        List<Pedido> pedidos = pedidoService.getAllPedidos();
+        PedidoPagina pagina;
+        try {
+            pagina = pedidoService.listarPedidos(cursor, tamanho, ordem);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Cursor inválido");
+        }
 
-        List<EntityModel<Pedido>> pedidoModels = pedidos.stream()
-                .map(pedido -> EntityModel.of(
-                        pedido,
-                        linkTo(methodOn(PedidoController.class).buscarPedido(pedido.getId())).withSelfRel()
-                ))
+        List<EntityModel<PedidoResponseDto>> pedidoModels = pagina.pedidos().stream()
+                .map(pedido -> EntityModel.of(pedido, LINK_PEDIDO.self(pedido.id())))
                 .toList();
 
-        CollectionModel<EntityModel<Pedido>> collectionModel = CollectionModel.of(
+        CollectionModel<EntityModel<PedidoResponseDto>> collectionModel = CollectionModel.of(
                 pedidoModels,
-                linkTo(methodOn(PedidoController.class).listarPedidos()).withSelfRel()
+                linkTo(methodOn(PedidoController.class).listarPedidos(cursor, tamanho, ordem)).withSelfRel(),
+                linkTo(methodOn(PedidoController.class).listarPedidos(null, tamanho, ordem)).withRel(IanaLinkRelations.FIRST)
         );
 
-        return ResponseEntity.ok(collectionModel);
+        if (pagina.proximoCursor() != null) {
+            collectionModel.add(linkTo(methodOn(PedidoController.class)
+                    .listarPedidos(pagina.proximoCursor(), tamanho, ordem)).withRel(IanaLinkRelations.NEXT));
+        }
+
+        return RespostaCondicional.ok(etag, collectionModel);
     }
 
 
+    // Mesma página sem HAL: { pedidos, proximoCursor }
+    @GetMapping(value = "/pedidos", produces = RespostaCondicional.JSON_SIMPLES)
+    public ResponseEntity<Object> listarPedidosSimples(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PedidoService.TAMANHO_PADRAO_PAGINA) int tamanho,
+            @RequestParam(defaultValue = "RECENTE") OrdemPedido ordem) {
+
+        String etag = RespostaCondicional.etagSimples(versoesRecursos.etagPedidos());
+        ResponseEntity<Object> naoModificado = RespostaCondicional.naoModificado(etag);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+
+        try {
+            return RespostaCondicional.ok(etag, pedidoService.listarPedidos(cursor, tamanho, ordem));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Cursor inválido");
+        }
+    }
+
+
+
+    @GetMapping("/pedidos/busca")
+    public ResponseEntity<PagedModel<EntityModel<PedidoResponseDto>>> buscarPedidos(
+            PedidoFiltroDto filtro,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "" + PedidoService.TAMANHO_PADRAO_PAGINA) int tamanho) {
+
+        Page<PedidoResponseDto> resultado = pedidoService.buscarPedidos(filtro, pagina, tamanho);
+
+        List<EntityModel<PedidoResponseDto>> pedidoModels = resultado.getContent().stream()
+                .map(pedido -> EntityModel.of(pedido, LINK_PEDIDO.self(pedido.id())))
+                .toList();
+
+        PagedModel<EntityModel<PedidoResponseDto>> pagedModel = PagedModel.of(
+                pedidoModels,
+                new PagedModel.PageMetadata(resultado.getSize(), resultado.getNumber(),
+                        resultado.getTotalElements(), resultado.getTotalPages()),
+                linkParaPagina(resultado.getNumber(), IanaLinkRelations.SELF),
+                linkParaPagina(0, IanaLinkRelations.FIRST)
+        );
+
+        if (resultado.hasNext()) {
+            pagedModel.add(linkParaPagina(resultado.getNumber() + 1, IanaLinkRelations.NEXT));
+        }
+        if (resultado.hasPrevious()) {
+            pagedModel.add(linkParaPagina(resultado.getNumber() - 1, IanaLinkRelations.PREV));
+        }
+
+        return ResponseEntity.ok(pagedModel);
+    }
+
+    // Mantém os filtros da requisição atual e troca só o número da página
+    private Link linkParaPagina(int pagina, LinkRelation rel) {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("pagina", pagina)
+                .toUriString();
+        return Link.of(uri, rel);
+    }
+
+
+    // Exporta todos os pedidos em streaming: a resposta é escrita enquanto as linhas são lidas do banco.
+    // Pode levar minutos em tabelas grandes, por isso tem tempo máximo próprio em vez do timeout assíncrono global
+    @GetMapping("/pedidos/export")
+    public WebAsyncTask<Void> exportarPedidos(@RequestParam(defaultValue = "csv") String format,
+                                              HttpServletResponse response) {
+        FormatoExportacao formato;
+        try {
+            formato = FormatoExportacao.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return null;
+        }
+
+        MediaType tipo = formato == FormatoExportacao.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String arquivo = "pedidos." + formato.name().toLowerCase(Locale.ROOT);
+
+        response.setContentType(tipo.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"");
+
+        return new WebAsyncTask<>(tempoMaximoExportacao.toMillis(), () -> {
+            pedidoExportService.exportar(formato, response.getOutputStream());
+            return null;
+        });
+    }
+
 
     @GetMapping("/pedidos/{id}")
     public ResponseEntity<Object> buscarPedido(@PathVariable UUID id) {
-        return pedidoService.getOnePedido(id);
+        String etag = versoesRecursos.etagPedido(id);
+        ResponseEntity<Object> naoModificado = RespostaCondicional.naoModificado(etag);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+
+        ResponseEntity<Object> resposta = pedidoService.getOnePedido(id);
+        if (!resposta.getStatusCode().is2xxSuccessful()) {
+            return resposta;
+        }
+        return RespostaCondicional.ok(etag, resposta.getBody());
     }
 
 
     @PutMapping("/pedidos/{id}")
     public ResponseEntity<Object> editarPedido(@PathVariable UUID id, @RequestBody PedidoDto pedidoDto) {
-        return pedidoService.editPedido(id, pedidoDto);
+        try {
+            return pedidoService.editPedido(id, pedidoDto);
+        } catch (OptimisticLockingFailureException e) {
+            // outra edição ou baixa de parcela gravou o pedido depois que ele foi lido
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("O pedido foi alterado por outra operação. Recarregue e tente novamente.");
+        }
+    }
+
+
+    // JSON Merge Patch: só os campos enviados mudam; itens indexados pelo id, null remove
+    @PatchMapping(value = "/pedidos/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<Object> patchPedido(@PathVariable UUID id, @RequestBody JsonNode patch) {
+        try {
+            return pedidoService.patchPedido(id, patch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("O pedido foi alterado por outra operação. Recarregue e tente novamente.");
+        }
     }
 
 
@@ -71,6 +263,17 @@ public class PedidoController {
     }
 
 
+    // Baixa de parcelas de vários pedidos numa transação; devolve o resultado de cada pedido
+    @PostMapping("/pedidos/parcelas/baixa")
+    public ResponseEntity<Object> baixarParcelas(@RequestBody List<BaixaParcelaDto> baixas) {
+        try {
+            return ResponseEntity.ok(pedidoService.baixarParcelas(baixas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+
     @DeleteMapping("/pedidos/{id}")
     public ResponseEntity<Object> deletarPedido(@PathVariable UUID id) {
         return pedidoService.deletePedido(id);
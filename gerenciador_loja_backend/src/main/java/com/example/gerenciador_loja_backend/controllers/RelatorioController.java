@@ -0,0 +1,44 @@
+package com.example.gerenciador_loja_backend.controllers;
+
+import com.example.gerenciador_loja_backend.enuns.Granularidade;
+import com.example.gerenciador_loja_backend.services.RelatorioVendasService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+public class RelatorioController {
+
+    private final RelatorioVendasService relatorioVendasService;
+
+    public RelatorioController(RelatorioVendasService relatorioVendasService) {
+        this.relatorioVendasService = relatorioVendasService;
+    }
+
+    // Receita, quantidade de pedidos e ticket médio por período, lidos só da tabela venda_diaria
+    @GetMapping("/relatorios/vendas")
+    public ResponseEntity<Object> vendas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "DIA") Granularidade granularidade) {
+        try {
+            return ResponseEntity.ok(relatorioVendasService.serie(de, ate, granularidade));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Trava venda_diaria em modo EXCLUSIVE até terminar; só administradores (SecurityConfig)
+    @PostMapping("/relatorios/vendas/reconstruir")
+    public ResponseEntity<Object> reconstruirVendas() {
+        try {
+            int dias = relatorioVendasService.reconstruir();
+            return ResponseEntity.ok("Relatório de vendas reconstruído: " + dias + " dias");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.gerenciador_loja_backend.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * GET condicional com ETag calculado antes de qualquer consulta.
+ * <p>
+ * {@code no-cache} deixa o navegador guardar a resposta e sempre revalidar
+ * com If-None-Match; sem ele valeria o {@code no-store} padrão do Spring
+ * Security e o navegador nunca mandaria o ETag de volta.
+ */
+final class RespostaCondicional {
+
+    static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    // Coleções sem o envelope HAL (_embedded/_links), pedidas por Accept por clientes internos
+    static final String JSON_SIMPLES = "application/vnd.gerenciador-loja+json";
+
+    private RespostaCondicional() {
+    }
+
+    // 304 sem corpo quando o If-None-Match da requisição atual bate com o ETag; null caso contrário
+    static <T> ResponseEntity<T> naoModificado(String etag) {
+        ServletRequestAttributes atributos = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        String ifNoneMatch = atributos.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (!bate(ifNoneMatch, etag)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDAR)
+                .varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T corpo) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).varyBy(HttpHeaders.ACCEPT).body(corpo);
+    }
+
+    // A mesma URL tem duas representações (HAL e JSON simples): cada uma precisa do seu ETag forte
+    static String etagSimples(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-s\"";
+    }
+
+    // If-None-Match pode trazer vários ETags, fracos (W/) ou *
+    static boolean bate(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        if (ifNoneMatch.trim().equals("*")) return true;
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) valor = valor.substring(2);
+            if (valor.equals(etag)) return true;
+        }
+        return false;
+    }
+}
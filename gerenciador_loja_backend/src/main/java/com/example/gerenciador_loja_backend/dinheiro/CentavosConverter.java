@@ -0,0 +1,21 @@
+package com.example.gerenciador_loja_backend.dinheiro;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Centavos (long) na entidade <-> numeric(12, 2) em reais no banco
+@Converter
+public class CentavosConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long centavos) {
+        return centavos == null ? null : Dinheiro.reais(centavos);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal reais) {
+        return reais == null ? 0L : Dinheiro.centavos(reais);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.gerenciador_loja_backend.dinheiro;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// Lê um valor em reais (49.9, "49.90") direto como centavos, sem passar por double
+public class CentavosDeserializer extends StdDeserializer<Long> {
+
+    public CentavosDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return Dinheiro.centavos(new BigDecimal(parser.getText().trim()));
+        }
+        return Dinheiro.centavos(parser.getDecimalValue());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.gerenciador_loja_backend.dinheiro;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+// Escreve centavos como número decimal em reais: 4990 -> 49.90
+public class CentavosSerializer extends StdSerializer<Long> {
+
+    public CentavosSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long centavos, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(Dinheiro.reais(centavos));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.gerenciador_loja_backend.dinheiro;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valores monetários são guardados como {@code long} em centavos.
+ * Somas e multiplicações ficam em aritmética inteira exata; a conversão
+ * para reais só acontece na borda (banco e JSON).
+ */
+public final class Dinheiro {
+
+    private Dinheiro() {
+    }
+
+    // Arredonda para o centavo mais próximo (meio centavo vai para o par)
+    public static long centavos(BigDecimal reais) {
+        return reais.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import java.util.UUID;
+
+// Uma linha da baixa em lote: quantas parcelas pagar de qual pedido
+public record BaixaParcelaDto(
+        UUID pedidoId,
+        Integer quantidade
+) {
+}
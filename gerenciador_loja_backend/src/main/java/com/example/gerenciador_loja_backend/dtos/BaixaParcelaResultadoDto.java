@@ -0,0 +1,30 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.UUID;
+
+// Resultado por pedido; quando a baixa é recusada só motivo vem preenchido
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BaixaParcelaResultadoDto(
+        UUID pedidoId,
+        int quantidade,
+        boolean aplicada,
+        String motivo,
+        Integer parcelasRestantes,
+        StatusDePagamento statusDePagamento,
+        @JsonSerialize(using = CentavosSerializer.class) Long saldoDevedor
+) {
+
+    public static BaixaParcelaResultadoDto aplicada(int quantidade, ParcelaBaixaDto baixa) {
+        return new BaixaParcelaResultadoDto(baixa.pedidoId(), quantidade, true, null,
+                baixa.parcelasRestantes(), baixa.statusDePagamento(), baixa.saldoDevedor());
+    }
+
+    public static BaixaParcelaResultadoDto recusada(UUID pedidoId, int quantidade, String motivo) {
+        return new BaixaParcelaResultadoDto(pedidoId, quantidade, false, motivo, null, null, null);
+    }
+}
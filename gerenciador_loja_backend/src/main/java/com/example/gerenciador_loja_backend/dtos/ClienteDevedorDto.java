@@ -0,0 +1,26 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.UUID;
+
+public record ClienteDevedorDto(
+        UUID id,
+        String name,
+        String telefone,
+        @JsonSerialize(using = CentavosSerializer.class) long saldoDevedor,
+        int pedidosEmAberto
+) {
+
+    public static ClienteDevedorDto de(Cliente cliente) {
+        return new ClienteDevedorDto(
+                cliente.getId(),
+                cliente.getName(),
+                cliente.getTelefone(),
+                cliente.getSaldoDevedorCentavos(),
+                cliente.getPedidosEmAberto()
+        );
+    }
+}
@@ -1,4 +1,18 @@
 package com.example.gerenciador_loja_backend.dtos;
 
-public record ClienteFiltroRequest() {
+import com.example.gerenciador_loja_backend.enuns.OrdemPedido;
+
+import java.time.LocalDate;
+
+// Corpo de POST /clientes/filtrar; campos nulos ou vazios não filtram
+public record ClienteFiltroRequest(
+        String nome,
+        String email,
+        String telefone,
+        String endereco,
+        String notas,
+        LocalDate dataInicial,
+        LocalDate dataFinal,
+        OrdemPedido ordenacao
+) {
 }
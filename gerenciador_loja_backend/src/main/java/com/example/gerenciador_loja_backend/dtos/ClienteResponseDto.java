@@ -0,0 +1,32 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.models.Cliente;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ClienteResponseDto(
+        UUID id,
+        String name,
+        String telefone,
+        String email,
+        String endereco,
+        String notas,
+        LocalDateTime dataCriacao
+) {
+
+    public static ClienteResponseDto de(Cliente cliente) {
+        if (cliente == null) {
+            return null;
+        }
+        return new ClienteResponseDto(
+                cliente.getId(),
+                cliente.getName(),
+                cliente.getTelefone(),
+                cliente.getEmail(),
+                cliente.getEndereco(),
+                cliente.getNotas(),
+                cliente.getDataCriacao()
+        );
+    }
+}
@@ -1,20 +1,26 @@
 package com.example.gerenciador_loja_backend.dtos;
 
+import com.example.gerenciador_loja_backend.dinheiro.CentavosDeserializer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 import java.util.UUID;
 
 public record ItemPedidoDto(
         UUID id,
         String nome,
-        Double preco,
+        @JsonProperty("preco")
+        @JsonDeserialize(using = CentavosDeserializer.class)
+        Long precoCentavos,     // chega em reais no JSON
         String tamanho,
         Integer quantidade  // novo campo
 ) {
 
-    // Calcula o valor total deste item
-    public double calcularTotalItem() {
-        if (preco == null || quantidade == null) {
-            return 0.0;
+    // Calcula o valor total deste item, em centavos
+    public long calcularTotalItemCentavos() {
+        if (precoCentavos == null || quantidade == null) {
+            return 0L;
         }
-        return preco * quantidade;
+        return Math.multiplyExact(precoCentavos, (long) quantidade);
     }
 }
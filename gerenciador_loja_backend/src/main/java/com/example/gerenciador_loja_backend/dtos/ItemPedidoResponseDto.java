@@ -0,0 +1,27 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.UUID;
+
+public record ItemPedidoResponseDto(
+        UUID id,
+        String nomeProduto,
+        Integer quantidade,
+        @JsonSerialize(using = CentavosSerializer.class)
+        long precoUnitario,     // centavos; sai em reais no JSON
+        String tamanho
+) {
+
+    public static ItemPedidoResponseDto de(ItemPedido item) {
+        return new ItemPedidoResponseDto(
+                item.getId(),
+                item.getNomeProduto(),
+                item.getQuantidade(),
+                item.getPrecoUnitarioCentavos(),
+                item.getTamanho()
+        );
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+// indice = posição do pedido no array enviado (começa em 0)
+public record LoteErroDto(int indice, String mensagem) {
+}
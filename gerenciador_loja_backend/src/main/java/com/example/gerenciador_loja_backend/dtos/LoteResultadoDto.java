@@ -0,0 +1,6 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import java.util.List;
+
+public record LoteResultadoDto(int recebidos, int importados, List<LoteErroDto> erros) {
+}
@@ -0,0 +1,16 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.UUID;
+
+// Estado do pedido logo após a baixa de parcelas
+public record ParcelaBaixaDto(
+        UUID pedidoId,
+        int parcelasRestantes,
+        StatusDePagamento statusDePagamento,
+        @JsonSerialize(using = CentavosSerializer.class) long saldoDevedor
+) {
+}
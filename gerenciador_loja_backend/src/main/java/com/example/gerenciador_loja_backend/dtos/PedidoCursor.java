@@ -0,0 +1,30 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Posição do último pedido de uma página, usada como cursor opaco (dataCriacao + id)
+public record PedidoCursor(LocalDateTime dataCriacao, UUID id) {
+
+    public String encode() {
+        String valor = dataCriacao + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Lança IllegalArgumentException quando o cursor não foi gerado por encode()
+    public static PedidoCursor decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new PedidoCursor(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -11,5 +11,6 @@ public record PedidoDto(
         List<ItemPedidoDto> itens,          // <--- aqui usamos o DTO
         StatusDePagamento statusDePagamento,
         Integer parcelasTotais,
-        Integer parcelasRestantes
+        Integer parcelasRestantes,
+        Long versao                         // versão lida pelo cliente; no PUT, diferente da atual dá 409
 ) {}
@@ -0,0 +1,16 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.enuns.OrdemPedido;
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Filtros de /pedidos/busca; campos nulos não filtram
+public record PedidoFiltroDto(
+        StatusDePagamento status,
+        String busca,                       // nome do cliente ou nome de produto
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+        OrdemPedido ordem
+) {}
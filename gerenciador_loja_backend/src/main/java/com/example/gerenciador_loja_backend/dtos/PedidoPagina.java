@@ -0,0 +1,7 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import java.util.List;
+
+// proximoCursor é null quando não há mais páginas
+public record PedidoPagina(List<PedidoResponseDto> pedidos, String proximoCursor) {
+}
@@ -0,0 +1,46 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Mesmo formato JSON da entidade Pedido (inclusive a relação "pedidoList" no HAL),
+// mas sem referências a entidades gerenciadas
+@Relation(itemRelation = "pedido", collectionRelation = "pedidoList")
+public record PedidoResponseDto(
+        UUID id,
+        LocalDateTime dataCriacao,
+        ClienteResponseDto cliente,
+        List<ItemPedidoResponseDto> itens,
+        @JsonSerialize(using = CentavosSerializer.class)
+        long valorTotal,        // centavos; sai em reais no JSON
+        Integer parcelasTotais,
+        Integer parcelasRestantes,
+        @JsonSerialize(using = CentavosSerializer.class)
+        long valorParcelas,
+        StatusDePagamento statusDePagamento,
+        long versao             // devolvida no PUT para a trava otimista
+) {
+
+    // Deve ser chamado com a sessão aberta: acessa cliente e itens do pedido
+    public static PedidoResponseDto de(Pedido pedido) {
+        return new PedidoResponseDto(
+                pedido.getId(),
+                pedido.getDataCriacao(),
+                ClienteResponseDto.de(pedido.getCliente()),
+                pedido.getItens().stream().map(ItemPedidoResponseDto::de).toList(),
+                pedido.getValorTotalCentavos(),
+                pedido.getParcelasTotais(),
+                pedido.getParcelasRestantes(),
+                pedido.getValorParcelasCentavos(),
+                pedido.getStatusDePagamento(),
+                pedido.getVersao()
+        );
+    }
+}
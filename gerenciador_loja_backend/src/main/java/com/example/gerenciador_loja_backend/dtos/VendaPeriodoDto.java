@@ -0,0 +1,15 @@
+package com.example.gerenciador_loja_backend.dtos;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+
+// Um ponto da série de vendas; inicio é o primeiro dia do período (dia, semana começando na segunda ou mês)
+public record VendaPeriodoDto(
+        LocalDate inicio,
+        @JsonSerialize(using = CentavosSerializer.class) long receita,
+        long quantidadePedidos,
+        @JsonSerialize(using = CentavosSerializer.class) long ticketMedio
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.gerenciador_loja_backend.enuns;
+
+public enum Granularidade {
+    DIA,
+    SEMANA,
+    MES,
+}
@@ -0,0 +1,6 @@
+package com.example.gerenciador_loja_backend.enuns;
+
+public enum OrdemPedido {
+    RECENTE,
+    ANTIGO,
+}
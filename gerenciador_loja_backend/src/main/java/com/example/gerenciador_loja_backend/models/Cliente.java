@@ -1,15 +1,30 @@
 package com.example.gerenciador_loja_backend.models;
 
+import com.example.gerenciador_loja_backend.dinheiro.CentavosConverter;
+import com.example.gerenciador_loja_backend.dinheiro.CentavosSerializer;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.hateoas.Link;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+// Cache de segundo nível: os UPDATEs nativos de saldo removem o cliente da região (SaldoClienteService)
 @Entity
-@Table(name = "TB_CLIENTES")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cliente")
+@Table(name = "TB_CLIENTES", indexes = {
+        @Index(name = "idx_clientes_saldo_devedor", columnList = "saldo_devedor DESC"),
+        @Index(name = "idx_clientes_atualizado_em", columnList = "atualizado_em")
+})
 public class Cliente implements Serializable {
 
     @Id
@@ -22,6 +37,26 @@ public class Cliente implements Serializable {
     private String endereco;
     private String notas;
 
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    // Última alteração cadastral, no relógio do banco; os UPDATEs nativos de saldo não mexem nela.
+    // Cada instância relê por ela os clientes alterados nas outras (ClienteService.atualizarIndiceBusca)
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "atualizado_em", nullable = false)
+    @JsonIgnore
+    private LocalDateTime atualizadoEm;
+
+    // Saldo em aberto (centavos) e pedidos não quitados, mantidos por SaldoClienteService.
+    // updatable = false: só mudam por UPDATE atômico, nunca ao salvar o cliente inteiro
+    @Column(name = "saldo_devedor", updatable = false, columnDefinition = "numeric(14,2) default 0 not null")
+    @Convert(converter = CentavosConverter.class)
+    @JsonProperty("saldoDevedor")
+    @JsonSerialize(using = CentavosSerializer.class)
+    private long saldoDevedorCentavos;
+
+    @Column(name = "pedidos_em_aberto", updatable = false, columnDefinition = "integer default 0 not null")
+    private int pedidosEmAberto;
+
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Pedido> pedidos;
@@ -45,6 +80,18 @@ public class Cliente implements Serializable {
     public String getNotas() { return notas; }
     public void setNotas(String notas) { this.notas = notas; }
 
+    public LocalDateTime getDataCriacao() { return dataCriacao; }
+    public void setDataCriacao(LocalDateTime dataCriacao) { this.dataCriacao = dataCriacao; }
+
+    public LocalDateTime getAtualizadoEm() { return atualizadoEm; }
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) { this.atualizadoEm = atualizadoEm; }
+
+    public long getSaldoDevedorCentavos() { return saldoDevedorCentavos; }
+    public void setSaldoDevedorCentavos(long saldoDevedorCentavos) { this.saldoDevedorCentavos = saldoDevedorCentavos; }
+
+    public int getPedidosEmAberto() { return pedidosEmAberto; }
+    public void setPedidosEmAberto(int pedidosEmAberto) { this.pedidosEmAberto = pedidosEmAberto; }
+
     public List<Pedido> getPedidos() { return pedidos; }
     public void setPedidos(List<Pedido> pedidos) { this.pedidos = pedidos; }
 
@@ -1,10 +1,14 @@
 package com.example.gerenciador_loja_backend.models;
 
+import com.example.gerenciador_loja_backend.dinheiro.CentavosConverter;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_item_pedido_pedido_id", columnList = "pedido_id")
+})
 public class ItemPedido {
 
     @Id
@@ -13,10 +17,13 @@ public class ItemPedido {
 
     private String nomeProduto;
     private Integer quantidade;
-    private Double precoUnitario;
+    // em centavos
+    @Column(name = "preco_unitario", precision = 12, scale = 2)
+    @Convert(converter = CentavosConverter.class)
+    private long precoUnitarioCentavos;
     private String tamanho;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pedido_id")
     @JsonBackReference
     private Pedido pedido;
@@ -38,8 +45,8 @@ public class ItemPedido {
     public Integer getQuantidade() { return quantidade; }
     public void setQuantidade(Integer quantidade) { this.quantidade = quantidade; }
 
-    public Double getPrecoUnitario() { return precoUnitario; }
-    public void setPrecoUnitario(Double precoUnitario) { this.precoUnitario = precoUnitario; }
+    public long getPrecoUnitarioCentavos() { return precoUnitarioCentavos; }
+    public void setPrecoUnitarioCentavos(long precoUnitarioCentavos) { this.precoUnitarioCentavos = precoUnitarioCentavos; }
 
     public Pedido getPedido() { return pedido; }
     public void setPedido(Pedido pedido) { this.pedido = pedido; }
@@ -1,15 +1,21 @@
 package com.example.gerenciador_loja_backend.models;
 
+import com.example.gerenciador_loja_backend.dinheiro.CentavosConverter;
 import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "pedido")
+@Table(name = "pedido", indexes = {
+        @Index(name = "idx_pedido_cliente_id", columnList = "cliente_id"),
+        @Index(name = "idx_pedido_data_criacao_id", columnList = "dataCriacao, id"),
+        @Index(name = "idx_pedido_status_data_criacao", columnList = "statusDePagamento, dataCriacao")
+})
 public class Pedido {
 
     @Id
@@ -18,25 +24,38 @@ public class Pedido {
 
     private LocalDateTime dataCriacao = LocalDateTime.now();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
 
+    // carregados em lote: uma página inteira de pedidos busca seus itens numa única consulta
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @JsonManagedReference
     private List<ItemPedido> itens = new ArrayList<>();
 
-    private Double valorTotal;
+    // valores em centavos
+    @Column(name = "valor_total", precision = 12, scale = 2)
+    @Convert(converter = CentavosConverter.class)
+    private long valorTotalCentavos;
 
     private Integer parcelasTotais;
 
     private Integer parcelasRestantes;
 
-    private double valorParcelas;
+    // valor da 1ª parcela; quando a divisão não é exata, as primeiras parcelas levam 1 centavo a mais
+    @Column(name = "valor_parcelas", precision = 12, scale = 2)
+    @Convert(converter = CentavosConverter.class)
+    private long valorParcelasCentavos;
 
     @Enumerated(EnumType.STRING)
     private StatusDePagamento statusDePagamento;
 
+    // trava otimista: edições concorrentes (ou uma edição contra uma baixa de parcela) não se sobrescrevem
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long versao;
+
     // ===============================
     // GETTERS E SETTERS
     // ===============================
@@ -57,8 +76,8 @@ public class Pedido {
         }
     }
 
-    public Double getValorTotal() { return valorTotal; }
-    public void setValorTotal(Double valorTotal) { this.valorTotal = valorTotal; }
+    public long getValorTotalCentavos() { return valorTotalCentavos; }
+    public void setValorTotalCentavos(long valorTotalCentavos) { this.valorTotalCentavos = valorTotalCentavos; }
 
     public Integer getParcelasTotais() { return parcelasTotais; }
     public void setParcelasTotais(Integer parcelasTotais) { this.parcelasTotais = parcelasTotais; }
@@ -69,12 +88,15 @@ public class Pedido {
     public StatusDePagamento getStatusDePagamento() { return statusDePagamento; }
     public void setStatusDePagamento(StatusDePagamento statusDePagamento) { this.statusDePagamento = statusDePagamento; }
 
-    public double getValorParcelas() {
-        return valorParcelas;
+    public long getVersao() { return versao; }
+    public void setVersao(long versao) { this.versao = versao; }
+
+    public long getValorParcelasCentavos() {
+        return valorParcelasCentavos;
     }
 
-    public void setValorParcelas(double valorParcelas) {
-        this.valorParcelas = valorParcelas;
+    public void setValorParcelasCentavos(long valorParcelasCentavos) {
+        this.valorParcelasCentavos = valorParcelasCentavos;
     }
 
     // ===============================
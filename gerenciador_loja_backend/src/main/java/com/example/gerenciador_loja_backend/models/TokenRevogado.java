@@ -0,0 +1,46 @@
+package com.example.gerenciador_loja_backend.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Entrada da lista de revogação: o jti de um token, ou "usuario:<username>" para todos os tokens do usuário
+@Entity
+@Table(name = "token_revogado", indexes = {
+        @Index(name = "idx_token_revogado_expira_em", columnList = "expira_em"),
+        @Index(name = "idx_token_revogado_revogado_em", columnList = "revogado_em")
+})
+public class TokenRevogado {
+
+    @Id
+    @Column(length = 200)
+    private String chave;
+
+    // depois disso nenhum token coberto pela entrada é aceito mesmo sem ela, então pode ser apagada
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    @Column(name = "revogado_em", nullable = false)
+    private Instant revogadoEm;
+
+    public TokenRevogado() {
+    }
+
+    public TokenRevogado(String chave, Instant expiraEm, Instant revogadoEm) {
+        this.chave = chave;
+        this.expiraEm = expiraEm;
+        this.revogadoEm = revogadoEm;
+    }
+
+    // ===============================
+    // GETTERS E SETTERS
+    // ===============================
+    public String getChave() { return chave; }
+    public void setChave(String chave) { this.chave = chave; }
+
+    public Instant getExpiraEm() { return expiraEm; }
+    public void setExpiraEm(Instant expiraEm) { this.expiraEm = expiraEm; }
+
+    public Instant getRevogadoEm() { return revogadoEm; }
+    public void setRevogadoEm(Instant revogadoEm) { this.revogadoEm = revogadoEm; }
+}
@@ -1,10 +1,19 @@
 package com.example.gerenciador_loja_backend.models;
 
+import com.example.gerenciador_loja_backend.security.UsuarioAlteradoListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.UUID;
 
 @Entity
-@Table(name = "tb_usuarios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
+@Table(name = "tb_usuarios", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_usuarios_username", columnNames = "username")
+})
+@EntityListeners(UsuarioAlteradoListener.class)
 public class Usuario {
 
     @Id
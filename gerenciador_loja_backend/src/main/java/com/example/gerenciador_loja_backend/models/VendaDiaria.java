@@ -0,0 +1,35 @@
+package com.example.gerenciador_loja_backend.models;
+
+import com.example.gerenciador_loja_backend.dinheiro.CentavosConverter;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Totais de vendas de um dia, mantidos a cada criação/edição/exclusão de pedido
+@Entity
+@Table(name = "venda_diaria")
+public class VendaDiaria {
+
+    @Id
+    private LocalDate dia;
+
+    // soma dos valores totais dos pedidos do dia, em centavos
+    @Column(name = "receita", precision = 14, scale = 2, nullable = false)
+    @Convert(converter = CentavosConverter.class)
+    private long receitaCentavos;
+
+    @Column(nullable = false)
+    private long quantidadePedidos;
+
+    // ===============================
+    // GETTERS E SETTERS
+    // ===============================
+    public LocalDate getDia() { return dia; }
+    public void setDia(LocalDate dia) { this.dia = dia; }
+
+    public long getReceitaCentavos() { return receitaCentavos; }
+    public void setReceitaCentavos(long receitaCentavos) { this.receitaCentavos = receitaCentavos; }
+
+    public long getQuantidadePedidos() { return quantidadePedidos; }
+    public void setQuantidadePedidos(long quantidadePedidos) { this.quantidadePedidos = quantidadePedidos; }
+}
@@ -0,0 +1,99 @@
+package com.example.gerenciador_loja_backend.monitoramento;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL executado pela requisição atual: quantidade de statements, linhas
+ * lidas, tempo de JDBC e quantas vezes cada "forma" de statement apareceu.
+ * <p>
+ * Vive numa ThreadLocal aberta e fechada pelo {@link OrcamentoSqlFilter};
+ * fora de uma requisição (jobs agendados, exportação assíncrona) não há
+ * acumulador e nada é contado. A forma é o SQL com listas IN e literais
+ * colapsados, para que {@code where id = ?} repetido cem vezes apareça como
+ * uma forma só com contagem 100.
+ */
+public final class ConsultasDaRequisicao {
+
+    private static final ThreadLocal<ConsultasDaRequisicao> ATUAL = new ThreadLocal<>();
+
+    // acima disso as formas novas não são mais guardadas (a contagem total continua)
+    private static final int MAXIMO_FORMAS = 200;
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern LISTA_IN = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+\\b");
+
+    private int consultas;
+    private long linhas;
+    private long nanosJdbc;
+    private final Map<String, Integer> formas = new LinkedHashMap<>();
+
+    private ConsultasDaRequisicao() {
+    }
+
+    static ConsultasDaRequisicao iniciar() {
+        ConsultasDaRequisicao consultas = new ConsultasDaRequisicao();
+        ATUAL.set(consultas);
+        return consultas;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    // null fora de uma requisição monitorada
+    static ConsultasDaRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    void registrarSql(String sql) {
+        consultas++;
+        String forma = forma(sql);
+        Integer vezes = formas.get(forma);
+        if (vezes != null) {
+            formas.put(forma, vezes + 1);
+        } else if (formas.size() < MAXIMO_FORMAS) {
+            formas.put(forma, 1);
+        }
+    }
+
+    void registrarExecucao(long nanos) {
+        nanosJdbc += nanos;
+    }
+
+    void registrarLinha() {
+        linhas++;
+    }
+
+    public int consultas() {
+        return consultas;
+    }
+
+    public long linhas() {
+        return linhas;
+    }
+
+    public long milisJdbc() {
+        return nanosJdbc / 1_000_000;
+    }
+
+    // Formas que apareceram mais de uma vez, da mais repetida para a menos
+    public List<Map.Entry<String, Integer>> repetidas() {
+        return formas.entrySet().stream()
+                .filter(forma -> forma.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(forma -> Map.entry(forma.getKey(), forma.getValue()))
+                .toList();
+    }
+
+    static String forma(String sql) {
+        String forma = ESPACOS.matcher(sql.trim()).replaceAll(" ");
+        forma = TEXTO.matcher(forma).replaceAll("?");
+        forma = NUMERO.matcher(forma).replaceAll("?");
+        return LISTA_IN.matcher(forma).replaceAll("(?...)");
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.gerenciador_loja_backend.monitoramento;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Vê cada SQL que o Hibernate vai preparar (JPQL, criteria e nativo) e o
+ * registra na requisição atual. Não altera o SQL.
+ * <p>
+ * Instanciado pelo próprio Hibernate a partir de
+ * {@code hibernate.session_factory.statement_inspector}, por isso é sem estado.
+ */
+public class ContadorSqlInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ConsultasDaRequisicao consultas = ConsultasDaRequisicao.atual();
+        if (consultas != null) {
+            consultas.registrarSql(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.gerenciador_loja_backend.monitoramento;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que mede, para a requisição atual, o tempo gasto nas execuções
+ * JDBC e quantas linhas foram lidas dos ResultSets.
+ * <p>
+ * Conexão, statements e result sets são proxies finos: fora de uma requisição
+ * monitorada cada chamada só consulta a ThreadLocal e segue adiante.
+ */
+public class DataSourceMedido extends DelegatingDataSource {
+
+    public DataSourceMedido(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(super.getConnection(), Connection.class);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envolver(super.getConnection(username, password), Connection.class);
+    }
+
+    private static <T> T envolver(T alvo, Class<T> tipo) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getDeclaringClass() == Object.class) {
+                        return switch (metodo.getName()) {
+                            case "equals" -> proxy == argumentos[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> "Medido(" + alvo + ")";
+                        };
+                    }
+
+                    ConsultasDaRequisicao consultas = ConsultasDaRequisicao.atual();
+                    boolean execucao = consultas != null && alvo instanceof Statement
+                            && metodo.getName().startsWith("execute");
+                    long inicio = execucao ? System.nanoTime() : 0L;
+
+                    Object resultado;
+                    try {
+                        resultado = metodo.invoke(alvo, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (execucao) {
+                            consultas.registrarExecucao(System.nanoTime() - inicio);
+                        }
+                    }
+
+                    if (consultas != null && alvo instanceof ResultSet
+                            && metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+                        consultas.registrarLinha();
+                    }
+                    return envolverRetorno(resultado, metodo);
+                }));
+    }
+
+    // Statements e result sets criados por um proxy também são medidos
+    private static Object envolverRetorno(Object resultado, Method metodo) {
+        Class<?> tipo = metodo.getReturnType();
+        if (resultado == null || Proxy.isProxyClass(resultado.getClass())) return resultado;
+        if (tipo == CallableStatement.class) return envolver((CallableStatement) resultado, CallableStatement.class);
+        if (tipo == PreparedStatement.class) return envolver((PreparedStatement) resultado, PreparedStatement.class);
+        if (tipo == Statement.class) return envolver((Statement) resultado, Statement.class);
+        if (tipo == ResultSet.class) return envolver((ResultSet) resultado, ResultSet.class);
+        return resultado;
+    }
+}
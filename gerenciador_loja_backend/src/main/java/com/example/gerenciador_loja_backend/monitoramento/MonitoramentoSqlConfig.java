@@ -0,0 +1,26 @@
+package com.example.gerenciador_loja_backend.monitoramento;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Envolve o DataSource para medir tempo de JDBC e linhas lidas por requisição
+@Configuration(proxyBeanMethods = false)
+public class MonitoramentoSqlConfig {
+
+    @Bean
+    public static BeanPostProcessor medirDataSource(@Value("${sql.orcamento.habilitado:true}") boolean habilitado) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (habilitado && bean instanceof DataSource dataSource && !(bean instanceof DataSourceMedido)) {
+                    return new DataSourceMedido(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
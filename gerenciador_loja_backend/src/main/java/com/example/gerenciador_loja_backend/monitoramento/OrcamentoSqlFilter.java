@@ -0,0 +1,160 @@
+package com.example.gerenciador_loja_backend.monitoramento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Orçamento de SQL por requisição.
+ * <p>
+ * Abre o acumulador de {@link ConsultasDaRequisicao} antes de tudo (inclusive
+ * da cadeia de segurança) e, ao final, publica os números:
+ * <ul>
+ *   <li>cabeçalhos X-SQL-Consultas, X-SQL-Linhas e X-SQL-Tempo-Ms, com os
+ *   valores do momento em que a resposta começa a ser escrita;</li>
+ *   <li>uma linha de log estruturada para uma amostra das requisições
+ *   ({@code sql.orcamento.amostragem}), com os valores finais;</li>
+ *   <li>um WARN com as formas de SQL repetidas sempre que a requisição passa
+ *   de {@code sql.orcamento.maximo-consultas} — o sinal típico de N+1.</li>
+ * </ul>
+ * Com {@code sql.orcamento.falhar=true} (testes, homologação) estourar o
+ * orçamento lança exceção, e o teste que fez a requisição falha.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class OrcamentoSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrcamentoSqlFilter.class);
+
+    private static final int FORMAS_NO_LOG = 5;
+
+    private final boolean habilitado;
+    private final int maximoConsultas;
+    private final double amostragem;
+    private final boolean falhar;
+
+    public OrcamentoSqlFilter(@Value("${sql.orcamento.habilitado:true}") boolean habilitado,
+                              @Value("${sql.orcamento.maximo-consultas:20}") int maximoConsultas,
+                              @Value("${sql.orcamento.amostragem:0.0}") double amostragem,
+                              @Value("${sql.orcamento.falhar:false}") boolean falhar) {
+        this.habilitado = habilitado;
+        this.maximoConsultas = maximoConsultas;
+        this.amostragem = amostragem;
+        this.falhar = falhar;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!habilitado) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ConsultasDaRequisicao consultas = ConsultasDaRequisicao.iniciar();
+        RespostaComCabecalhos resposta = new RespostaComCabecalhos(response, consultas);
+        try {
+            filterChain.doFilter(request, resposta);
+        } finally {
+            ConsultasDaRequisicao.encerrar();
+        }
+        // respostas sem corpo (204, 304) ainda não escreveram os cabeçalhos
+        resposta.escreverCabecalhos();
+
+        String rota = request.getMethod() + " " + request.getRequestURI();
+        if (amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem) {
+            log.info("sql rota=\"{}\" status={} consultas={} linhas={} tempoMs={}",
+                    rota, response.getStatus(), consultas.consultas(), consultas.linhas(), consultas.milisJdbc());
+        }
+
+        if (consultas.consultas() > maximoConsultas) {
+            StringBuilder detalhe = new StringBuilder();
+            int listadas = 0;
+            for (Map.Entry<String, Integer> forma : consultas.repetidas()) {
+                if (listadas++ == FORMAS_NO_LOG) break;
+                detalhe.append("\n  ").append(forma.getValue()).append("x ").append(forma.getKey());
+            }
+            String mensagem = "Orçamento de SQL estourado em " + rota + ": " + consultas.consultas()
+                    + " consultas (máximo " + maximoConsultas + "), " + consultas.linhas() + " linhas, "
+                    + consultas.milisJdbc() + " ms. Repetidas:" + (detalhe.length() == 0 ? " nenhuma" : detalhe);
+            log.warn(mensagem);
+            if (falhar) {
+                throw new IllegalStateException(mensagem);
+            }
+        }
+    }
+
+    // Escreve os cabeçalhos logo antes do primeiro byte do corpo, enquanto ainda é possível
+    private static final class RespostaComCabecalhos extends HttpServletResponseWrapper {
+
+        private final ConsultasDaRequisicao consultas;
+        private boolean escritos;
+
+        RespostaComCabecalhos(HttpServletResponse response, ConsultasDaRequisicao consultas) {
+            super(response);
+            this.consultas = consultas;
+        }
+
+        void escreverCabecalhos() {
+            if (escritos || isCommitted()) return;
+            escritos = true;
+            setHeader("X-SQL-Consultas", String.valueOf(consultas.consultas()));
+            setHeader("X-SQL-Linhas", String.valueOf(consultas.linhas()));
+            setHeader("X-SQL-Tempo-Ms", String.valueOf(consultas.milisJdbc()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escreverCabecalhos();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escreverCabecalhos();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverCabecalhos();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escreverCabecalhos();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escreverCabecalhos();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escreverCabecalhos();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -1,9 +1,63 @@
 package com.example.gerenciador_loja_backend.repositories;
 
 import com.example.gerenciador_loja_backend.models.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClienteRepository extends JpaRepository<Cliente, UUID> {
+
+    // Espaço de consulta dos UPDATEs nativos de saldo. Sem ele o Hibernate não sabe
+    // que tabela mudou e esvazia o cache de segundo nível inteiro a cada execução;
+    // com ele nada é removido, e SaldoClienteService tira do cache só os clientes alterados
+    String ESPACO_SALDO = "tb_clientes_saldo";
+
+    // Atualização periódica do índice de busca: alterados desde a última leitura (idx_clientes_atualizado_em)
+    List<Cliente> findByAtualizadoEmAfter(LocalDateTime desde);
+
+    // ... e os ids existentes, para tirar do índice quem foi excluído em outra instância
+    @Query("select c.id from Cliente c")
+    List<UUID> listarIds();
+
+    // Percorre idx_clientes_saldo_devedor do maior saldo para o menor e para no limite
+    List<Cliente> findBySaldoDevedorCentavosGreaterThanOrderBySaldoDevedorCentavosDesc(long minimo, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_SALDO))
+    @Query(value = """
+            update tb_clientes
+               set saldo_devedor = saldo_devedor + :saldo,
+                   pedidos_em_aberto = pedidos_em_aberto + :abertos
+             where id = :id
+            """, nativeQuery = true)
+    void somarSaldo(@Param("id") UUID id, @Param("saldo") BigDecimal saldo, @Param("abertos") int abertos);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_SALDO))
+    @Query(value = "update tb_clientes set saldo_devedor = :saldo, pedidos_em_aberto = :abertos where id = :id",
+            nativeQuery = true)
+    void definirSaldo(@Param("id") UUID id, @Param("saldo") BigDecimal saldo, @Param("abertos") int abertos);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_SALDO))
+    @Query(value = "update tb_clientes set saldo_devedor = 0, pedidos_em_aberto = 0", nativeQuery = true)
+    void zerarSaldos();
+
+    // Só leituras passam enquanto a reconstrução não termina
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_SALDO))
+    @Query(value = "lock table tb_clientes in exclusive mode", nativeQuery = true)
+    void bloquearParaReconstrucao();
 }
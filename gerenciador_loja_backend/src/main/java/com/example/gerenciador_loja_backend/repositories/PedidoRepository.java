@@ -2,11 +2,150 @@ package com.example.gerenciador_loja_backend.repositories;
 
 import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
 import com.example.gerenciador_loja_backend.models.Pedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface PedidoRepository extends JpaRepository<Pedido, UUID> {
-    ResponseEntity<Object> findByStatusDePagamento(StatusDePagamento status);
+public interface PedidoRepository extends JpaRepository<Pedido, UUID>, JpaSpecificationExecutor<Pedido> {
+    // Os métodos de leitura trazem o cliente no mesmo select; os itens vêm em lote (@BatchSize em Pedido.itens)
+    @EntityGraph(attributePaths = "cliente")
+    List<Pedido> findByStatusDePagamento(StatusDePagamento status);
+
+    @EntityGraph(attributePaths = {"cliente", "itens"})
+    Optional<Pedido> findComClienteEItensById(UUID id);
+
+    @Override
+    @EntityGraph(attributePaths = "cliente")
+    Page<Pedido> findAll(Specification<Pedido> spec, Pageable pageable);
+
+    // Leitura só para frente da tabela inteira (exportação); precisa de transação aberta enquanto o Stream é consumido.
+    // Uma linha por pedido: os itens não entram no join, são carregados por bloco com carregarItens
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Pedido p join fetch p.cliente order by p.dataCriacao asc, p.id asc")
+    Stream<Pedido> streamParaExportacao();
+
+    // Inicializa numa só consulta a coleção de itens dos pedidos já gerenciados com esses ids
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select p from Pedido p left join fetch p.itens where p.id in :ids")
+    List<Pedido> carregarItens(@Param("ids") Collection<UUID> ids);
+
+    // Só o necessário para recalcular o saldo dos clientes, sem carregar entidades
+    interface SaldoPedido {
+        UUID getClienteId();
+        long getValorTotalCentavos();
+        Integer getParcelasTotais();
+        Integer getParcelasRestantes();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select p.cliente.id as clienteId, p.valorTotalCentavos as valorTotalCentavos,
+                   p.parcelasTotais as parcelasTotais, p.parcelasRestantes as parcelasRestantes
+            from Pedido p
+            where p.parcelasRestantes > 0
+            """)
+    Stream<SaldoPedido> streamSaldosEmAberto();
+
+    interface ContagemStatus {
+        StatusDePagamento getStatus();
+        long getQuantidade();
+    }
+
+    @Query("select p.statusDePagamento as status, count(p) as quantidade from Pedido p group by p.statusDePagamento")
+    List<ContagemStatus> contarPorStatus();
+
+    // Linha do pedido depois da baixa, devolvida pelo próprio UPDATE
+    interface ParcelaBaixada {
+        UUID getId();
+        UUID getClienteId();
+        BigDecimal getValorTotal();
+        Integer getParcelasTotais();
+        Integer getParcelasRestantes();
+        String getStatusDePagamento();
+    }
+
+    // Baixa condicional em uma ida ao banco: só atualiza se houver parcelas suficientes, recalcula o status
+    // e incrementa a versão no mesmo UPDATE, então baixas simultâneas nunca se perdem nem deixam saldo negativo.
+    // Com RETURNING não cabe @Modifying (só aceita void/int): o Spring Data executa como leitura e o Hibernate
+    // não fica sabendo da alteração. Um Pedido já gerenciado na sessão continuaria com parcelas, status e versão
+    // antigos, então estes dois métodos só podem ser chamados sem Pedido gerenciado, ou com o contexto limpo
+    // logo depois (é o que PedidoService faz)
+    @Query(value = """
+            update pedido
+               set parcelas_restantes = parcelas_restantes - :quantidade,
+                   status_de_pagamento = case when parcelas_restantes - :quantidade = 0 then 'PAGO' else 'PENDENTE' end,
+                   versao = versao + 1
+             where id = :id and parcelas_restantes >= :quantidade
+            returning id, cliente_id as "clienteId", valor_total as "valorTotal", parcelas_totais as "parcelasTotais",
+                      parcelas_restantes as "parcelasRestantes", status_de_pagamento as "statusDePagamento"
+            """, nativeQuery = true)
+    Optional<ParcelaBaixada> baixarParcelas(@Param("id") UUID id, @Param("quantidade") int quantidade);
+
+    // Mesma baixa condicional para vários pedidos num só UPDATE; ids e quantidades são pareados por posição.
+    // Só os pedidos efetivamente baixados voltam no resultado
+    @Query(value = """
+            update pedido p
+               set parcelas_restantes = p.parcelas_restantes - b.quantidade,
+                   status_de_pagamento = case when p.parcelas_restantes - b.quantidade = 0 then 'PAGO' else 'PENDENTE' end,
+                   versao = p.versao + 1
+              from unnest(cast(:ids as uuid[]), cast(:quantidades as integer[])) as b(id, quantidade)
+             where p.id = b.id and p.parcelas_restantes >= b.quantidade
+            returning p.id, p.cliente_id as "clienteId", p.valor_total as "valorTotal",
+                      p.parcelas_totais as "parcelasTotais", p.parcelas_restantes as "parcelasRestantes",
+                      p.status_de_pagamento as "statusDePagamento"
+            """, nativeQuery = true)
+    List<ParcelaBaixada> baixarParcelasEmLote(@Param("ids") UUID[] ids, @Param("quantidades") Integer[] quantidades);
+
+    @Query("select p.id from Pedido p where p.id in :ids")
+    List<UUID> findIdsExistentes(@Param("ids") Collection<UUID> ids);
+
+    // Paginação por keyset em (dataCriacao, id): o Pageable só limita o tamanho da página.
+    // A comparação de linha vira uma única condição de intervalo em idx_pedido_data_criacao_id;
+    // o "or" equivalente faz o Postgres filtrar a segunda coluna em vez de começar do cursor
+    @EntityGraph(attributePaths = "cliente")
+    @Query("select p from Pedido p order by p.dataCriacao desc, p.id desc")
+    List<Pedido> findRecentes(Pageable pageable);
+
+    @EntityGraph(attributePaths = "cliente")
+    @Query("""
+            select p from Pedido p
+            where (p.dataCriacao, p.id) < (:dataCriacao, :id)
+            order by p.dataCriacao desc, p.id desc
+            """)
+    List<Pedido> findRecentesApos(@Param("dataCriacao") LocalDateTime dataCriacao,
+                                  @Param("id") UUID id,
+                                  Pageable pageable);
+
+    @EntityGraph(attributePaths = "cliente")
+    @Query("select p from Pedido p order by p.dataCriacao asc, p.id asc")
+    List<Pedido> findAntigos(Pageable pageable);
+
+    @EntityGraph(attributePaths = "cliente")
+    @Query("""
+            select p from Pedido p
+            where (p.dataCriacao, p.id) > (:dataCriacao, :id)
+            order by p.dataCriacao asc, p.id asc
+            """)
+    List<Pedido> findAntigosApos(@Param("dataCriacao") LocalDateTime dataCriacao,
+                                 @Param("id") UUID id,
+                                 Pageable pageable);
 }
@@ -0,0 +1,79 @@
+package com.example.gerenciador_loja_backend.repositories;
+
+import com.example.gerenciador_loja_backend.dtos.PedidoFiltroDto;
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+public final class PedidoSpecifications {
+
+    // Escape dos curingas do LIKE no texto digitado: "50%" procura "50%", não "50" seguido de qualquer coisa
+    private static final char ESCAPE = '\\';
+
+    private PedidoSpecifications() {
+    }
+
+    public static Specification<Pedido> doFiltro(PedidoFiltroDto filtro) {
+        return Specification.where(comStatus(filtro.status()))
+                .and(criadoAPartirDe(filtro.dataInicial()))
+                .and(criadoAte(filtro.dataFinal()))
+                .and(comClienteOuProduto(filtro.busca()));
+    }
+
+    public static Specification<Pedido> comStatus(StatusDePagamento status) {
+        if (status == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("statusDePagamento"), status);
+    }
+
+    public static Specification<Pedido> criadoAPartirDe(LocalDate data) {
+        if (data == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataCriacao"), data.atStartOfDay());
+    }
+
+    public static Specification<Pedido> criadoAte(LocalDate data) {
+        if (data == null) return null;
+        return (root, query, cb) -> cb.lessThan(root.get("dataCriacao"), data.plusDays(1).atStartOfDay());
+    }
+
+    // Nome do cliente OU algum item com o produto. Cada lado é uma subconsulta sem correlação, que o
+    // Postgres executa uma vez pelo índice de trigramas (V10) e consulta como tabela hash por pedido
+    public static Specification<Pedido> comClienteOuProduto(String busca) {
+        if (busca == null || busca.isBlank()) return null;
+        String padrao = "%" + escaparLike(busca.trim().toLowerCase(Locale.ROOT)) + "%";
+
+        return (root, query, cb) -> {
+            Subquery<UUID> clientes = query.subquery(UUID.class);
+            Root<Cliente> cliente = clientes.from(Cliente.class);
+            clientes.select(cliente.get("id"))
+                    .where(cb.like(cb.lower(cliente.get("name")), padrao, ESCAPE));
+
+            Subquery<UUID> itens = query.subquery(UUID.class);
+            Root<ItemPedido> item = itens.from(ItemPedido.class);
+            itens.select(item.get("pedido").get("id"))
+                    .where(cb.like(cb.lower(item.get("nomeProduto")), padrao, ESCAPE));
+
+            return cb.or(
+                    root.get("cliente").get("id").in(clientes),
+                    root.get("id").in(itens)
+            );
+        };
+    }
+
+    static String escaparLike(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == ESCAPE || c == '%' || c == '_') escapado.append(ESCAPE);
+            escapado.append(c);
+        }
+        return escapado.toString();
+    }
+}
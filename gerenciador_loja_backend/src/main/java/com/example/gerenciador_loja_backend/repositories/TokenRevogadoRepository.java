@@ -0,0 +1,25 @@
+package com.example.gerenciador_loja_backend.repositories;
+
+import com.example.gerenciador_loja_backend.models.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    @Query("select t.chave from TokenRevogado t")
+    List<String> listarChaves();
+
+    // Leitura incremental da ListaRevogacao (idx_token_revogado_revogado_em)
+    List<TokenRevogado> findByRevogadoEmAfter(Instant desde);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevogado t where t.expiraEm < :agora")
+    int apagarExpirados(@Param("agora") Instant agora);
+}
@@ -1,11 +1,21 @@
 package com.example.gerenciador_loja_backend.repositories;
 
 import com.example.gerenciador_loja_backend.models.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
+
+    // Cache de consultas: guarda o id por username e carrega o usuário da região "usuario".
+    // Qualquer gravação em tb_usuarios pelo Hibernate invalida o resultado
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Usuario> findByUsername(String username);
+
+    // Conta usada pelo aquecimento (config/Aquecimento) para autenticar as requisições locais
+    Optional<Usuario> findFirstByOrderByUsernameAsc();
 }
@@ -0,0 +1,74 @@
+package com.example.gerenciador_loja_backend.repositories;
+
+import com.example.gerenciador_loja_backend.models.VendaDiaria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, LocalDate> {
+
+    List<VendaDiaria> findByDiaBetweenOrderByDiaAsc(LocalDate de, LocalDate ate);
+
+    // Os SQLs nativos abaixo só mexem em venda_diaria: declarar a tabela evita
+    // que o Hibernate esvazie o cache de segundo nível inteiro a cada pedido gravado
+
+    // Soma os deltas na linha do dia numa única instrução: atômico mesmo com pedidos simultâneos no mesmo dia
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "venda_diaria"))
+    @Query(value = """
+            insert into venda_diaria (dia, receita, quantidade_pedidos)
+            values (:dia, :receita, :quantidade)
+            on conflict (dia) do update
+               set receita = venda_diaria.receita + excluded.receita,
+                   quantidade_pedidos = venda_diaria.quantidade_pedidos + excluded.quantidade_pedidos
+            """, nativeQuery = true)
+    void somar(@Param("dia") LocalDate dia,
+               @Param("receita") BigDecimal receita,
+               @Param("quantidade") long quantidade);
+
+    // Advisory lock até o fim da transação; false se outra instância já está reconstruindo
+    @Query(value = "select pg_try_advisory_xact_lock(:chave)", nativeQuery = true)
+    boolean tentarTravarReconstrucao(@Param("chave") long chave);
+
+    // Reserva a execução agendada na transação da reconstrução; 0 se outra instância já rodou há menos de 'intervalo' segundos
+    @Modifying
+    @Query(value = """
+            update reconstrucao_agendada
+               set ultima_em = now()
+             where nome = 'venda_diaria'
+               and ultima_em < now() - make_interval(secs => :intervalo)
+            """, nativeQuery = true)
+    int reservarReconstrucaoAgendada(@Param("intervalo") long intervaloSegundos);
+
+    // Só leituras passam enquanto a reconstrução não termina
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "venda_diaria"))
+    @Query(value = "lock table venda_diaria in exclusive mode", nativeQuery = true)
+    void bloquearParaReconstrucao();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "venda_diaria"))
+    @Query(value = "delete from venda_diaria", nativeQuery = true)
+    void apagarTudo();
+
+    // Recalcula todos os dias a partir da tabela de pedidos
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "venda_diaria"))
+    @Query(value = """
+            insert into venda_diaria (dia, receita, quantidade_pedidos)
+            select cast(p.data_criacao as date), coalesce(sum(p.valor_total), 0), count(*)
+              from pedido p
+             group by cast(p.data_criacao as date)
+            """, nativeQuery = true)
+    int recalcularDePedidos();
+}
@@ -0,0 +1,32 @@
+package com.example.gerenciador_loja_backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Usuários com papel ADMIN, listados em {@code api.security.administradores}.
+ * <p>
+ * O papel vem da configuração e não do banco, então o cadastro público
+ * ({@code /auth/register}) não tem como criar um administrador: a conta é
+ * registrada antes de o nome entrar na lista, e o registro recusa nomes que
+ * já estão nela.
+ */
+@Component
+public class Administradores {
+
+    private final Set<String> usernames;
+
+    public Administradores(@Value("${api.security.administradores:}") Set<String> usernames) {
+        this.usernames = usernames.stream()
+                .map(String::trim)
+                .filter(nome -> !nome.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean contem(String username) {
+        return username != null && usernames.contains(username);
+    }
+}
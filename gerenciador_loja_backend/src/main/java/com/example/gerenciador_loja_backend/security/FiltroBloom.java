@@ -0,0 +1,70 @@
+package com.example.gerenciador_loja_backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, seguro para escrita concorrente.
+ * <p>
+ * {@link #talvezContenha} nunca dá falso negativo: se devolve false a chave
+ * certamente não foi adicionada. Falsos positivos acontecem na taxa pedida
+ * enquanto o número de chaves não passar da capacidade.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int funcoes;
+
+    FiltroBloom(int capacidade, double taxaFalsoPositivo) {
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.quantidadeBits = palavras * 64L;
+        this.funcoes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * Math.log(2)));
+    }
+
+    void adicionar(String chave) {
+        long hash = hash64(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= funcoes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % quantidadeBits;
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) break;
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    boolean talvezContenha(String chave) {
+        long hash = hash64(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= funcoes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % quantidadeBits;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits com mistura final (murmur3 fmix64) para espalhar os bits altos
+    private static long hash64(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
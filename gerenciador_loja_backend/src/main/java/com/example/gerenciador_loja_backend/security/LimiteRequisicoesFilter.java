@@ -0,0 +1,154 @@
+package com.example.gerenciador_loja_backend.security;
+
+import com.example.gerenciador_loja_backend.models.Usuario;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de requisições por cliente, depois do SecurityFilter.
+ * <p>
+ * Cada cliente (usuário autenticado, ou IP nas rotas /auth) tem um balde de
+ * tokens por grupo de rotas. O balde é um único {@link AtomicLong} no
+ * formato GCRA: guarda o instante teórico em que ele estaria cheio de novo,
+ * e consumir um token é um compareAndSet desse valor. Não há lock global; os
+ * baldes ficam num ConcurrentHashMap, que já divide as chaves em faixas
+ * independentes. Baldes cheios (ociosos) são removidos periodicamente.
+ */
+@Component
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    enum Grupo { AUTH, LEITURA, ESCRITA }
+
+    // Taxa e rajada de um grupo, já convertidas para nanos
+    record Limite(long intervaloNanos, long toleranciaNanos) {
+
+        static Limite de(int requisicoes, Duration periodo, int rajada) {
+            long intervalo = Math.max(1, periodo.toNanos() / Math.max(1, requisicoes));
+            return new Limite(intervalo, intervalo * Math.max(0, rajada - 1));
+        }
+    }
+
+    private final boolean habilitado;
+    private final Limite[] limites = new Limite[Grupo.values().length];
+    private final ConcurrentHashMap<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final Counter[] recusas = new Counter[Grupo.values().length];
+
+    public LimiteRequisicoesFilter(
+            MeterRegistry meterRegistry,
+            @Value("${api.limite.habilitado:true}") boolean habilitado,
+            @Value("${api.limite.auth.requisicoes:20}") int authRequisicoes,
+            @Value("${api.limite.auth.periodo:PT1M}") Duration authPeriodo,
+            @Value("${api.limite.auth.rajada:10}") int authRajada,
+            @Value("${api.limite.leitura.requisicoes:20}") int leituraRequisicoes,
+            @Value("${api.limite.leitura.periodo:PT1S}") Duration leituraPeriodo,
+            @Value("${api.limite.leitura.rajada:40}") int leituraRajada,
+            @Value("${api.limite.escrita.requisicoes:10}") int escritaRequisicoes,
+            @Value("${api.limite.escrita.periodo:PT1S}") Duration escritaPeriodo,
+            @Value("${api.limite.escrita.rajada:20}") int escritaRajada) {
+        this.habilitado = habilitado;
+        limites[Grupo.AUTH.ordinal()] = Limite.de(authRequisicoes, authPeriodo, authRajada);
+        limites[Grupo.LEITURA.ordinal()] = Limite.de(leituraRequisicoes, leituraPeriodo, leituraRajada);
+        limites[Grupo.ESCRITA.ordinal()] = Limite.de(escritaRequisicoes, escritaPeriodo, escritaRajada);
+        for (Grupo grupo : Grupo.values()) {
+            recusas[grupo.ordinal()] = meterRegistry.counter("api.limite.recusas", "grupo", grupo.name().toLowerCase(Locale.ROOT));
+        }
+        Gauge.builder("api.limite.baldes", baldes, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!habilitado || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Grupo grupo = grupo(request);
+        String chave = grupo.name() + ':' + cliente(request, grupo);
+        long esperaNanos = consumir(chave, limites[grupo.ordinal()], System.nanoTime());
+
+        if (esperaNanos > 0) {
+            recusas[grupo.ordinal()].increment();
+            long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Muitas requisições. Tente novamente em " + segundos + "s.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // 0 se o token foi consumido; senão, quanto falta (em nanos) para o próximo token
+    long consumir(String chave, Limite limite, long agora) {
+        AtomicLong balde = baldes.computeIfAbsent(chave, k -> new AtomicLong(agora));
+        while (true) {
+            long cheioEm = balde.get();
+            long inicio = Math.max(cheioEm, agora);
+            long excesso = inicio - agora - limite.toleranciaNanos();
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (balde.compareAndSet(cheioEm, inicio + limite.intervaloNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    // Balde que já estaria cheio não guarda nada útil: recriá-lo depois dá o mesmo resultado
+    @Scheduled(fixedDelayString = "${api.limite.varredura:PT1M}")
+    public void removerOciosos() {
+        long agora = System.nanoTime();
+        baldes.entrySet().removeIf(entrada -> entrada.getValue().get() - agora <= 0);
+    }
+
+    int baldesAtivos() {
+        return baldes.size();
+    }
+
+    private static Grupo grupo(HttpServletRequest request) {
+        if (request.getServletPath().startsWith("/auth/")) return Grupo.AUTH;
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? Grupo.LEITURA
+                : Grupo.ESCRITA;
+    }
+
+    // Usuário autenticado quando houver; /auth (login, register) e anônimos por IP
+    private static String cliente(HttpServletRequest request, Grupo grupo) {
+        if (grupo != Grupo.AUTH) {
+            Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+            if (autenticacao != null && autenticacao.getPrincipal() instanceof Usuario usuario) {
+                return "u:" + usuario.getUsername();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.gerenciador_loja_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta falhas de login dentro de uma janela: por par (usuário, IP), por
+ * usuário somando todos os IPs e por IP.
+ * <p>
+ * Passado um dos limites, novas tentativas são recusadas antes de qualquer
+ * BCrypt, então um ataque de força bruta não consome o pool de hash. O limite
+ * do par é o baixo: quem erra a senha de um usuário de outro IP não tranca o
+ * dono da conta. O teto por usuário, bem mais alto, segura o ataque
+ * distribuído por muitos IPs. A janela de cada contador recomeça a cada
+ * falha; um login certo zera o contador do par.
+ * <p>
+ * O IP é o {@code getRemoteAddr()} da requisição, já resolvido pelo Tomcat a
+ * partir do X-Forwarded-For quando vem de um proxy confiável
+ * ({@code server.forward-headers-strategy}).
+ */
+@Component
+public class LimiteTentativasLogin {
+
+    private final Cache<String, AtomicInteger> falhasPorPar;
+    private final Cache<String, AtomicInteger> falhasPorUsuario;
+    private final Cache<String, AtomicInteger> falhasPorIp;
+    private final int maximoPorPar;
+    private final int maximoPorUsuario;
+    private final int maximoPorIp;
+    private final Duration janela;
+
+    @Autowired
+    public LimiteTentativasLogin(@Value("${api.security.login.maximo-falhas-usuario-ip:5}") int maximoPorPar,
+                                 @Value("${api.security.login.maximo-falhas-usuario:50}") int maximoPorUsuario,
+                                 @Value("${api.security.login.maximo-falhas-ip:20}") int maximoPorIp,
+                                 @Value("${api.security.login.janela:PT15M}") Duration janela) {
+        this(maximoPorPar, maximoPorUsuario, maximoPorIp, janela, Ticker.systemTicker());
+    }
+
+    LimiteTentativasLogin(int maximoPorPar, int maximoPorUsuario, int maximoPorIp, Duration janela, Ticker relogio) {
+        this.maximoPorPar = maximoPorPar;
+        this.maximoPorUsuario = maximoPorUsuario;
+        this.maximoPorIp = maximoPorIp;
+        this.janela = janela;
+        this.falhasPorPar = contadores(janela, relogio);
+        this.falhasPorUsuario = contadores(janela, relogio);
+        this.falhasPorIp = contadores(janela, relogio);
+    }
+
+    /**
+     * Tempo até a tentativa voltar a ser aceita, ou vazio se ela pode seguir.
+     * Com mais de um limite estourado, vale o que libera por último.
+     */
+    public Optional<Duration> bloqueio(String username, String ip) {
+        String usuario = chave(username);
+        Duration espera = maior(
+                restante(falhasPorPar, par(usuario, ip), maximoPorPar),
+                restante(falhasPorUsuario, usuario, maximoPorUsuario),
+                restante(falhasPorIp, ip, maximoPorIp));
+        return Optional.ofNullable(espera);
+    }
+
+    public void registrarFalha(String username, String ip) {
+        String usuario = chave(username);
+        incrementar(falhasPorPar, par(usuario, ip));
+        incrementar(falhasPorUsuario, usuario);
+        incrementar(falhasPorIp, ip);
+    }
+
+    // O teto por usuário não é zerado: expira com a janela, senão um login do dono reabriria o ataque distribuído
+    public void registrarSucesso(String username, String ip) {
+        String chave = par(chave(username), ip);
+        if (chave != null) falhasPorPar.invalidate(chave);
+    }
+
+    // Quanto falta para o contador expirar, se ele já chegou ao máximo
+    private Duration restante(Cache<String, AtomicInteger> falhas, String chave, int maximo) {
+        if (chave == null) return null;
+        AtomicInteger contador = falhas.getIfPresent(chave);
+        if (contador == null || contador.get() < maximo) return null;
+        return falhas.policy().expireAfterWrite()
+                .flatMap(expiracao -> expiracao.ageOf(chave))
+                .map(idade -> janela.minus(idade))
+                .filter(restante -> !restante.isNegative())
+                .orElse(Duration.ZERO);
+    }
+
+    private static Duration maior(Duration... esperas) {
+        Duration maior = null;
+        for (Duration espera : esperas) {
+            if (espera != null && (maior == null || espera.compareTo(maior) > 0)) maior = espera;
+        }
+        return maior;
+    }
+
+    private static void incrementar(Cache<String, AtomicInteger> falhas, String chave) {
+        if (chave == null) return;
+        AtomicInteger contador = falhas.get(chave, k -> new AtomicInteger());
+        contador.incrementAndGet();
+        // regrava para reiniciar o expireAfterWrite
+        falhas.put(chave, contador);
+    }
+
+    private static Cache<String, AtomicInteger> contadores(Duration janela, Ticker relogio) {
+        return Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(janela).ticker(relogio).build();
+    }
+
+    private static String par(String usuario, String ip) {
+        return usuario == null || ip == null ? null : usuario + '|' + ip;
+    }
+
+    private static String chave(String username) {
+        return username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+}
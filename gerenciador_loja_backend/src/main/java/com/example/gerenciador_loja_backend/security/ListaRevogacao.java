@@ -0,0 +1,171 @@
+package com.example.gerenciador_loja_backend.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.gerenciador_loja_backend.models.TokenRevogado;
+import com.example.gerenciador_loja_backend.repositories.TokenRevogadoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens revogados (logout ou revogação de todos os tokens de um usuário).
+ * <p>
+ * As entradas ficam na tabela token_revogado; na frente dela um filtro de
+ * Bloom em memória responde "com certeza não revogado" para quase todos os
+ * tokens, então o SecurityFilter só consulta o banco num falso positivo ou
+ * num token de fato revogado. O filtro é refeito periodicamente a partir da
+ * tabela, já sem as entradas que passaram do {@code exp}.
+ * <p>
+ * O filtro é por processo: as revogações feitas em outras instâncias entram
+ * nele a cada {@code api.security.revogacao.atualizacao}, lidas por
+ * {@code revogado_em} (com uma sobreposição para relógios e commits
+ * atrasados). Cada chave nova muda a {@link #versao()}, e o SecurityFilter
+ * confere de novo os tokens do {@link TokenCache} verificados numa versão
+ * anterior.
+ */
+@Component
+public class ListaRevogacao {
+
+    static final String PREFIXO_USUARIO = "usuario:";
+
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+    private static final int CAPACIDADE_MINIMA = 10_000;
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final TokenCache tokenCache;
+
+    private final Duration sobreposicao;
+
+    private volatile FiltroBloom filtro = new FiltroBloom(CAPACIDADE_MINIMA, TAXA_FALSO_POSITIVO);
+    private volatile boolean carregado;
+
+    // muda a cada chave que entra no filtro; 0 é a versão de antes da primeira carga
+    private final AtomicLong versao = new AtomicLong();
+
+    // chaves revogadas enquanto uma reconstrução lia a tabela; entram também no filtro novo
+    private final Set<String> recentes = ConcurrentHashMap.newKeySet();
+
+    // maior revogado_em já lido e as chaves da última leitura incremental, que a sobreposição relê
+    private volatile Instant lidoAte;
+    private Set<String> lidasNaUltima = Set.of();
+
+    public ListaRevogacao(TokenRevogadoRepository tokenRevogadoRepository,
+                          TokenCache tokenCache,
+                          @Value("${api.security.revogacao.sobreposicao:PT1M}") Duration sobreposicao) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.tokenCache = tokenCache;
+        this.sobreposicao = sobreposicao;
+    }
+
+    public long versao() {
+        return versao.get();
+    }
+
+    // Logout: revoga só este token, até o exp dele
+    public void revogarToken(String token, DecodedJWT jwt) {
+        Instant agora = Instant.now();
+        adicionar(new TokenRevogado(jwt.getId(), expiracao(jwt, agora), agora));
+        tokenCache.invalidarToken(token);
+    }
+
+    // Todos os tokens do usuário emitidos até agora; 'ate' é o exp mais distante que um deles pode ter
+    public void revogarUsuario(String username, UUID usuarioId, Instant ate) {
+        adicionar(new TokenRevogado(PREFIXO_USUARIO + username, ate, Instant.now()));
+        tokenCache.invalidarUsuario(usuarioId);
+    }
+
+    public boolean revogado(DecodedJWT jwt) {
+        return revogado(jwt.getId(), jwt.getSubject(), jwt.getIssuedAtAsInstant());
+    }
+
+    // Mesma conferência a partir do que o TokenCache guarda do token
+    public boolean revogado(String jti, String assunto, Instant emitidoEm) {
+        FiltroBloom atual = filtro;
+        // até a primeira carga o filtro está vazio: vale o banco
+        boolean consultarSempre = !carregado;
+        if (jti != null && (consultarSempre || atual.talvezContenha(jti)) && tokenRevogadoRepository.existsById(jti)) {
+            return true;
+        }
+
+        String chaveUsuario = PREFIXO_USUARIO + assunto;
+        if (!consultarSempre && !atual.talvezContenha(chaveUsuario)) {
+            return false;
+        }
+        Optional<TokenRevogado> revogacao = tokenRevogadoRepository.findById(chaveUsuario);
+        if (revogacao.isEmpty()) {
+            return false;
+        }
+        // token sem iat (emitido antes desta versão) é tratado como anterior à revogação
+        return emitidoEm == null || !emitidoEm.isAfter(revogacao.get().getRevogadoEm());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.security.revogacao.reconstrucao:PT10M}",
+            initialDelayString = "${api.security.revogacao.reconstrucao:PT10M}")
+    public synchronized void reconstruir() {
+        recentes.clear();
+        Instant inicio = Instant.now();
+        tokenRevogadoRepository.apagarExpirados(inicio);
+        List<String> chaves = tokenRevogadoRepository.listarChaves();
+
+        FiltroBloom novo = new FiltroBloom(Math.max(CAPACIDADE_MINIMA, chaves.size() * 2), TAXA_FALSO_POSITIVO);
+        chaves.forEach(novo::adicionar);
+        recentes.forEach(novo::adicionar);
+        filtro = novo;
+        // o que foi revogado entre a cópia acima e a troca do filtro
+        recentes.forEach(novo::adicionar);
+        if (lidoAte == null) lidoAte = inicio;
+        carregado = true;
+        versao.incrementAndGet();
+    }
+
+    // Revogações feitas em outras instâncias desde a última leitura
+    @Scheduled(fixedDelayString = "${api.security.revogacao.atualizacao:PT5S}",
+            initialDelayString = "${api.security.revogacao.atualizacao:PT5S}")
+    public synchronized void atualizar() {
+        Instant desde = lidoAte;
+        if (!carregado || desde == null) {
+            return;
+        }
+        List<TokenRevogado> lidas = tokenRevogadoRepository.findByRevogadoEmAfter(desde.minus(sobreposicao));
+
+        Set<String> chaves = new HashSet<>();
+        boolean novas = false;
+        Instant maisRecente = desde;
+        for (TokenRevogado entrada : lidas) {
+            chaves.add(entrada.getChave());
+            if (!lidasNaUltima.contains(entrada.getChave())) {
+                filtro.adicionar(entrada.getChave());
+                novas = true;
+            }
+            if (entrada.getRevogadoEm().isAfter(maisRecente)) maisRecente = entrada.getRevogadoEm();
+        }
+        lidasNaUltima = chaves;
+        lidoAte = maisRecente;
+        if (novas) versao.incrementAndGet();
+    }
+
+    private void adicionar(TokenRevogado entrada) {
+        tokenRevogadoRepository.save(entrada);
+        recentes.add(entrada.getChave());
+        filtro.adicionar(entrada.getChave());
+        versao.incrementAndGet();
+    }
+
+    private static Instant expiracao(DecodedJWT jwt, Instant agora) {
+        Instant exp = jwt.getExpiresAtAsInstant();
+        return exp == null ? agora : exp;
+    }
+}
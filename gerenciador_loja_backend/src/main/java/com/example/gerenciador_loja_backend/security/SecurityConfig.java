@@ -1,5 +1,9 @@
 package com.example.gerenciador_loja_backend.security;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +20,8 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -23,8 +29,19 @@ public class SecurityConfig {
 
     private final SecurityFilter securityFilter;
 
-    public SecurityConfig(SecurityFilter securityFilter) {
+    private final LimiteRequisicoesFilter limiteRequisicoesFilter;
+
+    private final int portaServidor;
+
+    private final int portaGerenciamento;
+
+    public SecurityConfig(SecurityFilter securityFilter, LimiteRequisicoesFilter limiteRequisicoesFilter,
+                          @Value("${server.port:8080}") int portaServidor,
+                          @Value("${management.server.port:-1}") int portaGerenciamento) {
         this.securityFilter = securityFilter;
+        this.limiteRequisicoesFilter = limiteRequisicoesFilter;
+        this.portaServidor = portaServidor;
+        this.portaGerenciamento = portaGerenciamento;
     }
 
     @Bean
@@ -41,17 +58,36 @@ public class SecurityConfig {
                         // endpoints públicos
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
+                        // operações administrativas: só administradores (api.security.administradores)
+                        .requestMatchers(HttpMethod.POST, "/auth/revogar/*").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/relatorios/vendas/reconstruir").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/clientes/saldos/reconstruir").hasRole("ADMIN")
+                        // probes de health para o balanceador, na porta pública
+                        .requestMatchers(HttpMethod.GET, "/livez", "/readyz").permitAll()
+                        // health e scrape do Prometheus sem login só na porta de gerenciamento (rede interna);
+                        // se ela coincidir com a pública, o Actuator exige autenticação como o resto
+                        .requestMatchers(new AndRequestMatcher(
+                                naPortaDeGerenciamento(),
+                                EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))).permitAll()
                         // endpoints pedidos
                         .requestMatchers("/pedidos/**", "/pedidos").authenticated()
                         // todos os outros endpoints autenticados
                         .anyRequest().authenticated()
                 )
                 // adiciona filtro JWT antes do filtro padrão de autenticação
-                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                // limite por cliente logo depois: já sabe quem é o usuário, antes de qualquer controller
+                .addFilterAfter(limiteRequisicoesFilter, SecurityFilter.class);
 
         return http.build();
     }
 
+    private RequestMatcher naPortaDeGerenciamento() {
+        return request -> portaGerenciamento > 0
+                && portaGerenciamento != portaServidor
+                && request.getLocalPort() == portaGerenciamento;
+    }
+
     @Bean
     public AccessDeniedHandler accessDeniedHandler() {
         return (request, response, accessDeniedException) -> {
@@ -60,9 +96,10 @@ public class SecurityConfig {
         };
     }
 
+    // Mudar o custo não invalida senhas: cada hash antigo é refeito no próximo login certo
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.senha.bcrypt-custo:10}") int custo) {
+        return new BCryptPasswordEncoder(custo);
     }
 
     @Bean
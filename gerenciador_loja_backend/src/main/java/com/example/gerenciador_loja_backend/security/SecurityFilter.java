@@ -1,7 +1,10 @@
 package com.example.gerenciador_loja_backend.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.gerenciador_loja_backend.models.Usuario;
 import com.example.gerenciador_loja_backend.repositories.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
@@ -25,6 +28,18 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UsuarioRepository userRepository;
 
+    @Autowired
+    private TokenCache tokenCache;
+
+    @Autowired
+    private ListaRevogacao listaRevogacao;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Administradores administradores;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -35,20 +50,53 @@ public class SecurityFilter extends OncePerRequestFilter {
             String token = recoverToken(request);
 
             if (token != null) {
-                String username = tokenService.validateToken(token); // retorna username do token
+                Timer.Sample validacao = Timer.start(meterRegistry);
+                String resultado = "cache";
+                Usuario user = null;
+                TokenCache.Entrada entrada = tokenCache.buscar(token);
+
+                if (entrada != null) {
+                    user = entrada.usuario();
+                    // acerto: só confere a revogação de novo se a lista ganhou chaves depois da última conferência
+                    long versao = listaRevogacao.versao();
+                    if (entrada.versaoRevogacao() != versao) {
+                        if (listaRevogacao.revogado(entrada.jti(), entrada.assunto(), entrada.emitidoEm())) {
+                            tokenCache.invalidarToken(token);
+                            user = null;
+                            resultado = "revogado";
+                        } else {
+                            tokenCache.conferido(token, entrada, versao);
+                        }
+                    }
+                } else {
+                    // cache miss: verifica a assinatura e resolve o usuário no banco uma única vez
+                    DecodedJWT jwt = tokenService.verifyToken(token);
+                    long versao = listaRevogacao.versao();
+                    if (jwt == null) {
+                        resultado = "invalido";
+                    // revogação: o filtro de Bloom descarta quase todos os tokens sem ir ao banco
+                    } else if (listaRevogacao.revogado(jwt)) {
+                        resultado = "revogado";
+                    } else {
+                        user = userRepository.findByUsername(jwt.getSubject()).orElse(null);
+                        resultado = user == null ? "usuario_inexistente" : "verificado";
+                        if (user != null) {
+                            tokenCache.guardar(token, user, jwt, versao);
+                        }
+                    }
+                }
+                validacao.stop(meterRegistry.timer("seguranca.token.validacao", "resultado", resultado));
 
-                if (username != null) {
-                    userRepository.findByUsername(username).ifPresent(user -> {
-                        var authorities = Collections.singletonList(
-                                new SimpleGrantedAuthority("ROLE_USER")
-                        );
+                if (user != null) {
+                    var authorities = administradores.contem(user.getUsername())
+                            ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                            : List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
-                        var authentication = new UsernamePasswordAuthenticationToken(
-                                user, null, authorities
-                        );
+                    var authentication = new UsernamePasswordAuthenticationToken(
+                            user, null, authorities
+                    );
 
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    });
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,142 @@
+package com.example.gerenciador_loja_backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt fora das threads do Tomcat, num pool próprio e limitado.
+ * <p>
+ * Cada hash custa dezenas de milissegundos de CPU; numa rajada de logins o
+ * pool fixo garante que só {@code threads} núcleos ficam ocupados com isso e
+ * o resto atende os pedidos. Com a fila cheia (ou a espera estourada) a
+ * operação é recusada com {@link RejectedExecutionException} na hora, em vez
+ * de acumular requisições esperando.
+ * <p>
+ * Um login certo cujo hash foi gerado com outro custo ({@code bcrypt-custo})
+ * devolve também o hash refeito com o custo atual, para ser gravado.
+ */
+@Component
+public class SenhaService {
+
+    // Resultado do login: rehash != null quando o hash guardado usa um custo diferente do atual
+    public record Conferencia(boolean confere, String rehash) {}
+
+    private final PasswordEncoder passwordEncoder;
+    private final int custo;
+    private final ThreadPoolExecutor executor;
+    private final long esperaNanos;
+    private final Timer tempoConferir;
+    private final Timer tempoCodificar;
+    private final Counter recusas;
+
+    public SenhaService(PasswordEncoder passwordEncoder,
+                        MeterRegistry meterRegistry,
+                        @Value("${api.security.senha.bcrypt-custo:10}") int custo,
+                        @Value("${api.security.senha.threads:0}") int threads,
+                        @Value("${api.security.senha.fila:64}") int fila,
+                        @Value("${api.security.senha.espera:PT5S}") Duration espera) {
+        this.passwordEncoder = passwordEncoder;
+        this.custo = custo;
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "bcrypt-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.esperaNanos = espera.toNanos();
+
+        // tempo de CPU do hash em si; a espera na fila aparece no http.server.requests do /auth
+        this.tempoConferir = meterRegistry.timer("seguranca.senha.bcrypt", "operacao", "conferir");
+        this.tempoCodificar = meterRegistry.timer("seguranca.senha.bcrypt", "operacao", "codificar");
+        this.recusas = meterRegistry.counter("seguranca.senha.recusas");
+        Gauge.builder("seguranca.senha.executor.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("seguranca.senha.executor.fila", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public Conferencia conferir(String senha, String hash) {
+        return executar(() -> tempoConferir.recordCallable(() -> {
+            if (senha == null || hash == null || !passwordEncoder.matches(senha, hash)) {
+                return new Conferencia(false, null);
+            }
+            // a senha em claro só existe aqui: é a única chance de regravar com o custo novo
+            String rehash = custoDoHash(hash) != custo ? passwordEncoder.encode(senha) : null;
+            return new Conferencia(true, rehash);
+        }));
+    }
+
+    public String codificar(String senha) {
+        return executar(() -> tempoCodificar.record(() -> passwordEncoder.encode(senha)));
+    }
+
+    public int emExecucao() {
+        return executor.getActiveCount();
+    }
+
+    public int naFila() {
+        return executor.getQueue().size();
+    }
+
+    // $2a$10$... -> 10; -1 se não for um hash BCrypt reconhecível
+    static int custoDoHash(String hash) {
+        if (hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash, 4, 6, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            recusas.increment();
+            throw e;
+        }
+        try {
+            return futuro.get(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            recusas.increment();
+            throw new RejectedExecutionException("Tempo de espera pelo hash de senha esgotado");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrompido aguardando o hash de senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.gerenciador_loja_backend.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.gerenciador_loja_backend.models.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cache de tokens já verificados e do usuário resolvido para cada um.
+ * <p>
+ * Uma entrada nunca vive além do {@code exp} do token (nem além do TTL
+ * configurado) e é descartada quando o usuário é alterado ou removido,
+ * para que o SecurityFilter não precise verificar a assinatura nem
+ * consultar o banco a cada requisição.
+ * <p>
+ * A entrada guarda também o jti, o subject e o iat do token, para conferir a
+ * revogação num acerto sem decodificar o token de novo, e a versão da
+ * {@link ListaRevogacao} em que ela foi conferida pela última vez.
+ */
+@Component
+public class TokenCache {
+
+    record Entrada(Usuario usuario, String jti, String assunto, Instant emitidoEm, Instant expiraEm,
+                   long versaoRevogacao) {}
+
+    private final Cache<String, Entrada> cache;
+
+    public TokenCache(@Value("${api.security.token.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                      @Value("${api.security.token.cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraNoToken(ttl))
+                .recordStats()
+                .build();
+    }
+
+    // Retorna null quando o token não está no cache (ou já expirou)
+    public Entrada buscar(String token) {
+        return cache.getIfPresent(token);
+    }
+
+    public void guardar(String token, Usuario usuario, DecodedJWT jwt, long versaoRevogacao) {
+        Instant expiraEm = jwt.getExpiresAtAsInstant();
+        if (expiraEm == null || !expiraEm.isAfter(Instant.now())) {
+            return;
+        }
+        cache.put(token, new Entrada(usuario, jwt.getId(), jwt.getSubject(), jwt.getIssuedAtAsInstant(),
+                expiraEm, versaoRevogacao));
+    }
+
+    // Revogação conferida de novo nesta versão da lista; não troca a entrada se ela foi invalidada nesse meio tempo
+    public void conferido(String token, Entrada entrada, long versaoRevogacao) {
+        cache.asMap().replace(token, entrada, new Entrada(entrada.usuario(), entrada.jti(), entrada.assunto(),
+                entrada.emitidoEm(), entrada.expiraEm(), versaoRevogacao));
+    }
+
+    public void invalidarToken(String token) {
+        cache.invalidate(token);
+    }
+
+    // Percorre o cache inteiro: só acontece quando um usuário muda, o que é raro
+    public void invalidarUsuario(UUID usuarioId) {
+        cache.asMap().values().removeIf(entrada -> usuarioId.equals(entrada.usuario().getId()));
+    }
+
+    public long acertos() {
+        return cache.stats().hitCount();
+    }
+
+    public long falhas() {
+        return cache.stats().missCount();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    private record ExpiraNoToken(Duration ttl) implements Expiry<String, Entrada> {
+
+        @Override
+        public long expireAfterCreate(String token, Entrada entrada, long currentTime) {
+            long ateOExp = Duration.between(Instant.now(), entrada.expiraEm()).toNanos();
+            return Math.max(0, Math.min(ateOExp, ttl.toNanos()));
+        }
+
+        // Só a versão de revogação muda numa atualização: o prazo continua o da criação
+        @Override
+        public long expireAfterUpdate(String token, Entrada entrada, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Entrada entrada, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.gerenciador_loja_backend.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.gerenciador_loja_backend.models.Usuario;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -11,20 +13,30 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String secret;
+    // Algorithm e JWTVerifier são thread-safe: montados uma vez e reaproveitados
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer("login-auth-api")
+                .build();
+    }
 
     public String generateToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
             return JWT.create()
                     .withIssuer("login-auth-api")
                     .withSubject(usuario.getUsername())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(this.generateExpirationDate())
                     .sign(algorithm);
 
@@ -33,20 +45,24 @@ public class TokenService {
         }
     }
 
+    // O exp mais distante que um token emitido agora pode ter
+    public Instant expiracaoMaxima() {
+        return generateExpirationDate();
+    }
+
     private Instant generateExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
 
     public String validateToken(String token) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
-            return JWT.require(algorithm)
-                    .withIssuer("login-auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+        DecodedJWT jwt = verifyToken(token);
+        return jwt == null ? null : jwt.getSubject();
+    }
 
+    // Retorna o token decodificado (subject, exp...) ou null se for inválido
+    public DecodedJWT verifyToken(String token) {
+        try {
+            return verifier.verify(token);
         } catch (JWTVerificationException exception) {
             return null;
         }
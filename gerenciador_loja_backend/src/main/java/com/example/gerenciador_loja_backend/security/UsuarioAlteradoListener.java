@@ -0,0 +1,24 @@
+package com.example.gerenciador_loja_backend.security;
+
+import com.example.gerenciador_loja_backend.models.Usuario;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// Listener JPA de Usuario: qualquer alteração ou remoção derruba os tokens em cache desse usuário
+@Component
+public class UsuarioAlteradoListener {
+
+    private final TokenCache tokenCache;
+
+    public UsuarioAlteradoListener(@Lazy TokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void usuarioAlterado(Usuario usuario) {
+        tokenCache.invalidarUsuario(usuario.getId());
+    }
+}
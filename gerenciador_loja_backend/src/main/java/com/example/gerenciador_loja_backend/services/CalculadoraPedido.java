@@ -0,0 +1,61 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.example.gerenciador_loja_backend.models.Pedido;
+
+import java.util.List;
+
+/**
+ * Cálculos de valores do pedido, sem dependência de repositórios.
+ * <p>
+ * Tudo em centavos ({@code long}) e sem alocação: o total é uma soma inteira
+ * exata e a divisão em parcelas distribui o resto, de modo que a soma das
+ * parcelas é sempre igual ao total. As primeiras {@code total % parcelas}
+ * parcelas levam um centavo a mais.
+ */
+public final class CalculadoraPedido {
+
+    private CalculadoraPedido() {
+    }
+
+    public static void calcularValorTotal(Pedido pedido) {
+        List<ItemPedido> itens = pedido.getItens();
+        long total = 0L;
+        for (int i = 0; i < itens.size(); i++) {
+            ItemPedido item = itens.get(i);
+            int quantidade = item.getQuantidade() == null ? 0 : item.getQuantidade();
+            total = Math.addExact(total, Math.multiplyExact(item.getPrecoUnitarioCentavos(), (long) quantidade));
+        }
+        pedido.setValorTotalCentavos(total);
+    }
+
+    public static void calcularValorParcela(Pedido pedido) {
+        pedido.setValorParcelasCentavos(
+                valorDaParcela(pedido.getValorTotalCentavos(), parcelas(pedido.getParcelasTotais()), 1));
+    }
+
+    // Valor da parcela de número 'numero' (1..parcelas)
+    public static long valorDaParcela(long total, int parcelas, int numero) {
+        long base = total / parcelas;
+        return numero <= total % parcelas ? base + 1 : base;
+    }
+
+    // Soma das 'restantes' últimas parcelas, ou seja, o que ainda falta pagar
+    public static long saldoDevedor(long total, int parcelas, int restantes) {
+        if (restantes <= 0) return 0L;
+        if (restantes >= parcelas) return total;
+        long resto = total % parcelas;
+        long pagas = parcelas - restantes;
+        return (total / parcelas) * restantes + Math.max(0L, resto - pagas);
+    }
+
+    // O que falta pagar do pedido, com parcelas nulas tratadas como à vista / quitado
+    public static long saldoDevedor(Pedido pedido) {
+        int restantes = pedido.getParcelasRestantes() == null ? 0 : pedido.getParcelasRestantes();
+        return saldoDevedor(pedido.getValorTotalCentavos(), parcelas(pedido.getParcelasTotais()), restantes);
+    }
+
+    private static int parcelas(Integer parcelasTotais) {
+        return parcelasTotais == null || parcelasTotais < 1 ? 1 : parcelasTotais;
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dtos.ClienteFiltroRequest;
+import com.example.gerenciador_loja_backend.enuns.OrdemPedido;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de trigramas em memória sobre os campos de texto de Cliente.
+ * <p>
+ * Cada cliente recebe um docId sequencial; para cada campo o índice guarda,
+ * por trigrama, a lista ordenada dos docIds que o contêm. Uma busca por
+ * substring intersecta as listas dos trigramas do termo e só então confirma
+ * os candidatos com {@code contains}. Atualizar um cliente gera um docId novo
+ * e marca o antigo como removido; as listas são compactadas quando os
+ * removidos passam de um quarto do total.
+ * <p>
+ * Guarda só o id, a data de criação e os textos normalizados: a busca devolve
+ * ids, e quem chama carrega os clientes atuais (saldo e pedidos em aberto
+ * mudam por UPDATE nativo, sem passar pelo índice).
+ */
+@Component
+public class ClienteIndiceBusca {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final int COMPACTAR_A_PARTIR_DE = 1024;
+
+    enum Campo { NOME, EMAIL, TELEFONE, ENDERECO, NOTAS }
+
+    // sequencia: ordem de indexação, preservada na compactação (ver removerAusentes)
+    private record Entrada(UUID id, LocalDateTime dataCriacao, String[] campos, long sequencia) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // posição = docId; null quando o cliente foi removido ou reindexado
+    private final List<Entrada> entradas = new ArrayList<>();
+    private final Map<UUID, Integer> docPorId = new HashMap<>();
+    private final List<Map<Long, Postagens>> postagens = new ArrayList<>();
+    private int removidos;
+    private long sequencia;
+
+    public ClienteIndiceBusca() {
+        for (int i = 0; i < Campo.values().length; i++) {
+            postagens.add(new HashMap<>());
+        }
+    }
+
+    // ============================================================
+    // ESCRITA
+    // ============================================================
+    public void reconstruir(Collection<Cliente> clientes) {
+        lock.writeLock().lock();
+        try {
+            limpar();
+            clientes.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(Cliente cliente) {
+        lock.writeLock().lock();
+        try {
+            marcarRemovido(cliente.getId());
+            adicionar(cliente);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(UUID id) {
+        lock.writeLock().lock();
+        try {
+            marcarRemovido(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Sequência da última indexação; tirada antes de ler os ids do banco para removerAusentes
+    public long marca() {
+        lock.readLock().lock();
+        try {
+            return sequencia;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Tira os clientes excluídos em outra instância: quem não está em 'existentes'. Só vale para
+    // entradas indexadas até 'marca'; as posteriores são mais novas que a lista de ids
+    public void removerAusentes(Set<UUID> existentes, long marca) {
+        lock.writeLock().lock();
+        try {
+            List<UUID> ausentes = entradas.stream()
+                    .filter(e -> e != null && e.sequencia() <= marca && !existentes.contains(e.id()))
+                    .map(Entrada::id)
+                    .toList();
+            ausentes.forEach(this::marcarRemovido);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return docPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // BUSCA
+    // ============================================================
+    // Ids dos clientes que atendem ao filtro, já na ordem pedida
+    public List<UUID> buscar(ClienteFiltroRequest filtro) {
+        String[] termos = new String[Campo.values().length];
+        termos[Campo.NOME.ordinal()] = normalizar(filtro.nome());
+        termos[Campo.EMAIL.ordinal()] = normalizar(filtro.email());
+        termos[Campo.TELEFONE.ordinal()] = normalizar(filtro.telefone());
+        termos[Campo.ENDERECO.ordinal()] = normalizar(filtro.endereco());
+        termos[Campo.NOTAS.ordinal()] = normalizar(filtro.notas());
+
+        LocalDateTime inicio = filtro.dataInicial() == null ? null : filtro.dataInicial().atStartOfDay();
+        LocalDateTime fim = filtro.dataFinal() == null ? null : filtro.dataFinal().plusDays(1).atStartOfDay();
+
+        List<Entrada> resultado = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            // termos com menos de 3 caracteres não têm trigramas e só são conferidos na verificação
+            int[] candidatos = null;
+            for (Campo campo : Campo.values()) {
+                String termo = termos[campo.ordinal()];
+                if (termo == null || termo.length() < 3) continue;
+
+                int[] docs = candidatosPorTrigramas(campo, termo);
+                candidatos = candidatos == null ? docs : intersectar(candidatos, docs, docs.length);
+                if (candidatos.length == 0) return List.of();
+            }
+
+            int total = candidatos == null ? entradas.size() : candidatos.length;
+            for (int i = 0; i < total; i++) {
+                Entrada entrada = entradas.get(candidatos == null ? i : candidatos[i]);
+                if (entrada != null && confere(entrada, termos, inicio, fim)) {
+                    resultado.add(entrada);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Entrada> porData = Comparator.comparing(Entrada::dataCriacao,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        resultado.sort(filtro.ordenacao() == OrdemPedido.ANTIGO ? porData : porData.reversed());
+        return resultado.stream().map(Entrada::id).toList();
+    }
+
+    private int[] candidatosPorTrigramas(Campo campo, String termo) {
+        Map<Long, Postagens> indiceCampo = postagens.get(campo.ordinal());
+        List<Postagens> listas = new ArrayList<>();
+        for (long trigrama : trigramas(termo)) {
+            Postagens lista = indiceCampo.get(trigrama);
+            if (lista == null) return new int[0];
+            listas.add(lista);
+        }
+
+        // começa pela lista mais curta para a interseção encolher o mais cedo possível
+        listas.sort(Comparator.comparingInt(l -> l.tamanho));
+        int[] atual = Arrays.copyOf(listas.get(0).docs, listas.get(0).tamanho);
+        for (int i = 1; i < listas.size() && atual.length > 0; i++) {
+            atual = intersectar(atual, listas.get(i).docs, listas.get(i).tamanho);
+        }
+        return atual;
+    }
+
+    private static boolean confere(Entrada entrada, String[] termos, LocalDateTime inicio, LocalDateTime fim) {
+        for (int i = 0; i < termos.length; i++) {
+            if (termos[i] != null && !entrada.campos()[i].contains(termos[i])) return false;
+        }
+        LocalDateTime data = entrada.dataCriacao();
+        if (inicio != null && (data == null || data.isBefore(inicio))) return false;
+        if (fim != null && (data == null || !data.isBefore(fim))) return false;
+        return true;
+    }
+
+    // ============================================================
+    // MÉTODOS AUXILIARES
+    // ============================================================
+    private void adicionar(Cliente cliente) {
+        String[] campos = {
+                textoIndexavel(cliente.getName()),
+                textoIndexavel(cliente.getEmail()),
+                textoIndexavel(cliente.getTelefone()),
+                textoIndexavel(cliente.getEndereco()),
+                textoIndexavel(cliente.getNotas())
+        };
+        adicionar(new Entrada(cliente.getId(), cliente.getDataCriacao(), campos, ++sequencia));
+    }
+
+    private void adicionar(Entrada entrada) {
+        int docId = entradas.size();
+        entradas.add(entrada);
+        docPorId.put(entrada.id(), docId);
+
+        for (Campo campo : Campo.values()) {
+            Map<Long, Postagens> indiceCampo = postagens.get(campo.ordinal());
+            for (long trigrama : trigramas(entrada.campos()[campo.ordinal()])) {
+                indiceCampo.computeIfAbsent(trigrama, t -> new Postagens()).adicionar(docId);
+            }
+        }
+    }
+
+    private void marcarRemovido(UUID id) {
+        Integer docId = docPorId.remove(id);
+        if (docId != null) {
+            entradas.set(docId, null);
+            removidos++;
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (removidos < COMPACTAR_A_PARTIR_DE || removidos * 4 < entradas.size()) return;
+
+        List<Entrada> vivos = entradas.stream()
+                .filter(e -> e != null)
+                .toList();
+        limpar();
+        vivos.forEach(this::adicionar);
+    }
+
+    private void limpar() {
+        entradas.clear();
+        docPorId.clear();
+        postagens.forEach(Map::clear);
+        removidos = 0;
+    }
+
+    private static String textoIndexavel(String valor) {
+        String normalizado = normalizar(valor);
+        return normalizado == null ? "" : normalizado;
+    }
+
+    // Remove acentos e caixa: "José" e "jose" viram o mesmo termo
+    static String normalizar(String valor) {
+        if (valor == null || valor.isBlank()) return null;
+        String semAcento = MARCAS.matcher(Normalizer.normalize(valor.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<Long> trigramas(String texto) {
+        Set<Long> resultado = new HashSet<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            resultado.add(((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2));
+        }
+        return resultado;
+    }
+
+    // Interseção de duas listas ordenadas de docIds
+    private static int[] intersectar(int[] a, int[] b, int tamanhoB) {
+        int[] saida = new int[Math.min(a.length, tamanhoB)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < tamanhoB) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                saida[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(saida, k);
+    }
+
+    // Lista crescente de docIds; como os docIds são sequenciais, adicionar no fim mantém a ordem
+    private static final class Postagens {
+        private int[] docs = new int[4];
+        private int tamanho;
+
+        void adicionar(int docId) {
+            if (tamanho == docs.length) {
+                docs = Arrays.copyOf(docs, tamanho * 2);
+            }
+            docs[tamanho++] = docId;
+        }
+    }
+}
@@ -1,29 +1,93 @@
 package com.example.gerenciador_loja_backend.services;
 
 import com.example.gerenciador_loja_backend.dtos.ClienteDto;
+import com.example.gerenciador_loja_backend.dtos.ClienteFiltroRequest;
 import com.example.gerenciador_loja_backend.models.Cliente;
+import com.example.gerenciador_loja_backend.models.Pedido;
 import com.example.gerenciador_loja_backend.repositories.ClienteRepository;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ClienteService {
 
     private final ClienteRepository clienteRepository;
+    private final ClienteIndiceBusca indiceBusca;
+    private final RelatorioVendasService relatorioVendasService;
+    private final VersoesRecursos versoesRecursos;
+    private final Duration sobreposicaoIndice;
 
-    public ClienteService(ClienteRepository clienteRepository) {
+    // maior atualizado_em já indexado; null enquanto nenhum cliente foi lido
+    private volatile LocalDateTime lidoAte;
+    private volatile boolean indiceCarregado;
+
+    public ClienteService(ClienteRepository clienteRepository,
+                          ClienteIndiceBusca indiceBusca,
+                          RelatorioVendasService relatorioVendasService,
+                          VersoesRecursos versoesRecursos,
+                          @Value("${clientes.indice.sobreposicao:PT1M}") Duration sobreposicaoIndice) {
         this.clienteRepository = clienteRepository;
+        this.indiceBusca = indiceBusca;
+        this.relatorioVendasService = relatorioVendasService;
+        this.versoesRecursos = versoesRecursos;
+        this.sobreposicaoIndice = sobreposicaoIndice;
+    }
+
+    // Carrega o índice de busca uma vez, quando a aplicação sobe
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarIndiceBusca() {
+        List<Cliente> clientes = clienteRepository.findAll();
+        indiceBusca.reconstruir(clientes);
+        lidoAte = maisRecente(clientes, null);
+        indiceCarregado = true;
+    }
+
+    // Alterações feitas em outras instâncias: relê os clientes alterados desde a última leitura
+    // (com uma sobreposição para transações que gravaram antes e fizeram commit depois) e tira
+    // do índice os que não existem mais. Reindexar um cliente já atualizado não muda nada
+    @Scheduled(fixedDelayString = "${clientes.indice.atualizacao:PT30S}",
+            initialDelayString = "${clientes.indice.atualizacao:PT30S}")
+    public void atualizarIndiceBusca() {
+        if (!indiceCarregado) {
+            return;
+        }
+        LocalDateTime desde = lidoAte;
+        List<Cliente> alterados = desde == null
+                ? clienteRepository.findAll()
+                : clienteRepository.findByAtualizadoEmAfter(desde.minus(sobreposicaoIndice));
+        alterados.forEach(indiceBusca::indexar);
+        lidoAte = maisRecente(alterados, desde);
+
+        long marca = indiceBusca.marca();
+        indiceBusca.removerAusentes(new HashSet<>(clienteRepository.listarIds()), marca);
     }
 
     // Criar cliente
     public Cliente criarCliente(ClienteDto clienteDto) {
         Cliente cliente = new Cliente();
         BeanUtils.copyProperties(clienteDto, cliente);
-        return clienteRepository.save(cliente);
+        Cliente salvo = clienteRepository.save(cliente);
+        indiceBusca.indexar(salvo);
+        versoesRecursos.clienteCriado();
+        return salvo;
     }
 
     // Listar todos os clientes
@@ -31,6 +95,18 @@ public class ClienteService {
         return clienteRepository.findAll();
     }
 
+    // Filtrar clientes pelo índice em memória (sem LIKE no banco); os clientes vêm do banco por id,
+    // com saldo e pedidos em aberto atuais, na ordem do índice
+    public List<Cliente> filtrarClientes(ClienteFiltroRequest filtro) {
+        List<UUID> ids = indiceBusca.buscar(filtro);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Cliente> porId = clienteRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
     // Buscar cliente por ID
     public Optional<Cliente> buscarClientePorId(UUID id) {
         return clienteRepository.findById(id);
@@ -51,16 +127,40 @@ public class ClienteService {
         if (clienteDto.endereco() != null) cliente.setEndereco(clienteDto.endereco());
         if (clienteDto.notas() != null) cliente.setNotas(clienteDto.notas());
 
-        return Optional.of(clienteRepository.save(cliente));
+        Cliente salvo = clienteRepository.save(cliente);
+        indiceBusca.indexar(salvo);
+        versoesRecursos.clienteAlterado(id);
+        return Optional.of(salvo);
     }
 
-    // Deletar cliente
+    // Deletar cliente (os pedidos dele são excluídos em cascata e saem do relatório de vendas)
+    @Transactional
     public boolean deletarCliente(UUID id) {
         Optional<Cliente> clienteO = clienteRepository.findById(id);
         if (clienteO.isEmpty()) {
             return false;
         }
-        clienteRepository.deleteById(id);
+        for (Pedido pedido : clienteO.get().getPedidos()) {
+            relatorioVendasService.registrar(pedido.getDataCriacao(), -pedido.getValorTotalCentavos(), -1);
+        }
+        clienteRepository.delete(clienteO.get());
+        // só sai do índice se a exclusão for gravada
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indiceBusca.remover(id);
+            }
+        });
+        versoesRecursos.clienteRemovido(id);
         return true;
     }
+
+    private static LocalDateTime maisRecente(List<Cliente> clientes, LocalDateTime atual) {
+        LocalDateTime maior = atual;
+        for (Cliente cliente : clientes) {
+            LocalDateTime data = cliente.getAtualizadoEm();
+            if (data != null && (maior == null || data.isAfter(maior))) maior = data;
+        }
+        return maior;
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.example.gerenciador_loja_backend.repositories.PedidoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauges de negócio: quantidade de pedidos por status de pagamento.
+ * <p>
+ * A contagem é feita por um agendamento e guardada; o scrape só lê os
+ * valores, para que cada coleta do Prometheus não vire um COUNT na tabela
+ * de pedidos.
+ */
+@Component
+public class MetricasPedidos implements MeterBinder {
+
+    private final PedidoRepository pedidoRepository;
+    private final Map<StatusDePagamento, AtomicLong> pedidosPorStatus = new EnumMap<>(StatusDePagamento.class);
+
+    public MetricasPedidos(PedidoRepository pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+        for (StatusDePagamento status : StatusDePagamento.values()) {
+            pedidosPorStatus.put(status, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pedidosPorStatus.forEach((status, quantidade) ->
+                Gauge.builder("loja.pedidos", quantidade, AtomicLong::get)
+                        .description("Pedidos por status de pagamento")
+                        .tag("status", status.name().toLowerCase(Locale.ROOT))
+                        .register(registry));
+    }
+
+    @Scheduled(fixedDelayString = "${metricas.pedidos.atualizacao:PT30S}")
+    public void atualizar() {
+        Map<StatusDePagamento, Long> contagens = new EnumMap<>(StatusDePagamento.class);
+        for (PedidoRepository.ContagemStatus contagem : pedidoRepository.contarPorStatus()) {
+            if (contagem.getStatus() != null) {
+                contagens.put(contagem.getStatus(), contagem.getQuantidade());
+            }
+        }
+        pedidosPorStatus.forEach((status, quantidade) -> quantidade.set(contagens.getOrDefault(status, 0L)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.gerenciador_loja_backend.services;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Escuta (LISTEN) as alterações publicadas pelas outras instâncias em
+ * {@link VersoesRecursos#CANAL} e as aplica nos contadores de ETag locais.
+ * <p>
+ * Usa uma conexão própria, fora do pool, presa nesta thread. Se ela cai, os
+ * ETags deixam de se repetir até a escuta voltar (ver {@link VersoesRecursos}),
+ * e a reconexão é tentada a cada {@code api.etag.notificacoes.reconexao}.
+ */
+@Component
+@ConditionalOnProperty(name = "api.etag.notificacoes.habilitado", havingValue = "true", matchIfMissing = true)
+public class NotificacoesVersoes {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacoesVersoes.class);
+
+    // sem notificação nesse intervalo, um SELECT 1 confirma que a conexão ainda está viva
+    private static final int ESPERA_MS = 5_000;
+
+    private final VersoesRecursos versoesRecursos;
+    private final JdbcConnectionDetails conexaoBanco;
+    private final Duration reconexao;
+
+    private volatile boolean ativo = true;
+    private volatile Connection conexao;
+    private Thread thread;
+
+    public NotificacoesVersoes(VersoesRecursos versoesRecursos,
+                               JdbcConnectionDetails conexaoBanco,
+                               @Value("${api.etag.notificacoes.reconexao:PT5S}") Duration reconexao) {
+        this.versoesRecursos = versoesRecursos;
+        this.conexaoBanco = conexaoBanco;
+        this.reconexao = reconexao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        thread = new Thread(this::escutar, "versoes-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        Connection atual = conexao;
+        if (atual != null) {
+            try {
+                atual.close();
+            } catch (SQLException e) {
+                // encerrando de qualquer forma
+            }
+        }
+        if (thread != null) {
+            thread.join(ESPERA_MS);
+        }
+    }
+
+    private void escutar() {
+        while (ativo) {
+            try (Connection atual = DriverManager.getConnection(
+                    conexaoBanco.getJdbcUrl(), conexaoBanco.getUsername(), conexaoBanco.getPassword())) {
+                conexao = atual;
+                try (Statement statement = atual.createStatement()) {
+                    statement.execute("LISTEN " + VersoesRecursos.CANAL);
+                }
+                versoesRecursos.escutaIniciada();
+
+                PGConnection postgres = atual.unwrap(PGConnection.class);
+                while (ativo) {
+                    PGNotification[] notificacoes = postgres.getNotifications(ESPERA_MS);
+                    if (notificacoes == null || notificacoes.length == 0) {
+                        try (Statement statement = atual.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notificacao : notificacoes) {
+                        versoesRecursos.receber(notificacao.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                versoesRecursos.escutaInterrompida();
+                if (!ativo) return;
+                log.warn("Escuta de versões interrompida; ETags sem 304 até reconectar: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconexao.toMillis());
+                } catch (InterruptedException interrompida) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                conexao = null;
+            }
+        }
+    }
+}
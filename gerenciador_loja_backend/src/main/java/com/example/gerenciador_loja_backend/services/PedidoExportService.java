@@ -0,0 +1,131 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dinheiro.Dinheiro;
+import com.example.gerenciador_loja_backend.dtos.PedidoResponseDto;
+import com.example.gerenciador_loja_backend.enuns.FormatoExportacao;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.repositories.PedidoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de todos os pedidos em CSV ou NDJSON com memória constante.
+ * <p>
+ * Os pedidos (com o cliente) são lidos por um Stream só para frente, com
+ * fetch size, uma linha por pedido. A cada bloco os itens dos pedidos do
+ * bloco vêm numa única consulta, o bloco é escrito na saída e o contexto de
+ * persistência é limpo para que as entidades já exportadas não fiquem
+ * acumuladas. Como o Stream não tem join com a coleção de itens, o Hibernate
+ * não lê linhas do próximo pedido antes do clear.
+ */
+@Service
+public class PedidoExportService {
+
+    private static final int TAMANHO_BLOCO = 500;
+
+    private static final String CABECALHO_CSV = "id,dataCriacao,clienteId,clienteNome,quantidadeItens,"
+            + "valorTotal,parcelasTotais,parcelasRestantes,valorParcelas,saldoDevedor,statusDePagamento\n";
+
+    private final PedidoRepository pedidoRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PedidoExportService(PedidoRepository pedidoRepository, ObjectMapper objectMapper) {
+        this.pedidoRepository = pedidoRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+        }
+
+        try (Stream<Pedido> pedidos = pedidoRepository.streamParaExportacao()) {
+            Iterator<Pedido> iterator = pedidos.iterator();
+            List<Pedido> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            while (iterator.hasNext()) {
+                bloco.add(iterator.next());
+                if (bloco.size() == TAMANHO_BLOCO) {
+                    escreverBloco(bloco, formato, writer);
+                }
+            }
+            escreverBloco(bloco, formato, writer);
+        }
+
+        writer.flush();
+    }
+
+    private void escreverBloco(List<Pedido> bloco, FormatoExportacao formato, Writer writer) throws IOException {
+        if (bloco.isEmpty()) return;
+
+        pedidoRepository.carregarItens(bloco.stream().map(Pedido::getId).toList());
+        for (Pedido pedido : bloco) {
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(pedido, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(PedidoResponseDto.de(pedido)));
+                writer.write('\n');
+            }
+        }
+
+        writer.flush();
+        bloco.clear();
+        entityManager.clear();
+    }
+
+    private static void escreverCsv(Pedido pedido, Writer writer) throws IOException {
+        int parcelasTotais = pedido.getParcelasTotais() == null ? 1 : pedido.getParcelasTotais();
+        int parcelasRestantes = pedido.getParcelasRestantes() == null ? 0 : pedido.getParcelasRestantes();
+        long saldo = CalculadoraPedido.saldoDevedor(pedido.getValorTotalCentavos(), parcelasTotais, parcelasRestantes);
+
+        writer.write(String.valueOf(pedido.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(pedido.getDataCriacao()));
+        writer.write(',');
+        writer.write(pedido.getCliente() == null ? "" : String.valueOf(pedido.getCliente().getId()));
+        writer.write(',');
+        writer.write(pedido.getCliente() == null ? "" : csv(pedido.getCliente().getName()));
+        writer.write(',');
+        writer.write(String.valueOf(pedido.getItens().size()));
+        writer.write(',');
+        writer.write(Dinheiro.reais(pedido.getValorTotalCentavos()).toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(parcelasTotais));
+        writer.write(',');
+        writer.write(String.valueOf(parcelasRestantes));
+        writer.write(',');
+        writer.write(Dinheiro.reais(pedido.getValorParcelasCentavos()).toPlainString());
+        writer.write(',');
+        writer.write(Dinheiro.reais(saldo).toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(pedido.getStatusDePagamento()));
+        writer.write('\n');
+    }
+
+    // Aspas só quando o valor tem vírgula, aspas ou quebra de linha (RFC 4180)
+    private static String csv(String valor) {
+        if (valor == null) return "";
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
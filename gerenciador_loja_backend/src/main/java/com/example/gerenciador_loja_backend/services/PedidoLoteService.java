@@ -0,0 +1,199 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dtos.LoteErroDto;
+import com.example.gerenciador_loja_backend.dtos.LoteResultadoDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoDto;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.repositories.ClienteRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em lote de pedidos a partir de um array JSON lido em streaming.
+ * <p>
+ * Os pedidos são processados em blocos: cada bloco resolve todos os seus
+ * clientes numa única consulta e grava tudo numa transação própria, com os
+ * inserts agrupados pelo batching JDBC do Hibernate. Um pedido inválido gera
+ * um erro só para ele; uma falha de banco invalida apenas o bloco em que
+ * aconteceu.
+ */
+@Service
+public class PedidoLoteService {
+
+    private final ClienteRepository clienteRepository;
+    private final RelatorioVendasService relatorioVendasService;
+    private final SaldoClienteService saldoClienteService;
+    private final VersoesRecursos versoesRecursos;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoBloco;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PedidoLoteService(ClienteRepository clienteRepository,
+                             RelatorioVendasService relatorioVendasService,
+                             SaldoClienteService saldoClienteService,
+                             VersoesRecursos versoesRecursos,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${pedidos.lote.tamanho-bloco:500}") int tamanhoBloco) {
+        this.clienteRepository = clienteRepository;
+        this.relatorioVendasService = relatorioVendasService;
+        this.saldoClienteService = saldoClienteService;
+        this.versoesRecursos = versoesRecursos;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    private record Registro(int indice, PedidoDto dto) {}
+
+    public LoteResultadoDto importar(InputStream corpo) throws IOException {
+        List<LoteErroDto> erros = new ArrayList<>();
+        List<Registro> bloco = new ArrayList<>(tamanhoBloco);
+        int recebidos = 0;
+        int importados = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo deve ser um array JSON de pedidos");
+            }
+
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    int indice = recebidos++;
+                    // lê a árvore do elemento primeiro: um erro de mapeamento não desalinha o parser
+                    JsonNode elemento = objectMapper.readTree(parser);
+                    try {
+                        bloco.add(new Registro(indice, objectMapper.treeToValue(elemento, PedidoDto.class)));
+                    } catch (JsonProcessingException e) {
+                        erros.add(new LoteErroDto(indice, "Pedido inválido: " + e.getOriginalMessage()));
+                    }
+
+                    if (bloco.size() == tamanhoBloco) {
+                        importados += gravarBloco(bloco, erros);
+                        bloco.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // JSON malformado: não dá para continuar lendo, mas o que já foi lido é gravado
+                erros.add(new LoteErroDto(recebidos, "JSON inválido: " + e.getOriginalMessage()));
+            }
+        }
+
+        if (!bloco.isEmpty()) {
+            importados += gravarBloco(bloco, erros);
+        }
+
+        return new LoteResultadoDto(recebidos, importados, erros);
+    }
+
+    private int gravarBloco(List<Registro> bloco, List<LoteErroDto> erros) {
+        List<LoteErroDto> errosDoBloco = new ArrayList<>();
+        try {
+            Integer gravados = transactionTemplate.execute(status -> {
+                Map<UUID, Cliente> clientes = buscarClientes(bloco);
+                // totais por dia: um único upsert em venda_diaria por dia do bloco
+                Map<LocalDate, long[]> vendasPorDia = new HashMap<>();
+                // e um único update de saldo por cliente do bloco
+                Map<UUID, long[]> saldosPorCliente = new HashMap<>();
+
+                int total = 0;
+                for (Registro registro : bloco) {
+                    String erro = validar(registro.dto(), clientes);
+                    if (erro != null) {
+                        errosDoBloco.add(new LoteErroDto(registro.indice(), erro));
+                        continue;
+                    }
+
+                    Pedido pedido = PedidoService.montarPedido(registro.dto(), clientes.get(registro.dto().idCliente()));
+                    entityManager.persist(pedido);
+                    long[] venda = vendasPorDia.computeIfAbsent(pedido.getDataCriacao().toLocalDate(), d -> new long[2]);
+                    venda[0] += pedido.getValorTotalCentavos();
+                    venda[1]++;
+                    SaldoClienteService.Contribuicao contribuicao = SaldoClienteService.Contribuicao.de(pedido);
+                    long[] saldo = saldosPorCliente.computeIfAbsent(registro.dto().idCliente(), id -> new long[2]);
+                    saldo[0] += contribuicao.saldoCentavos();
+                    saldo[1] += contribuicao.emAberto();
+                    total++;
+                }
+
+                vendasPorDia.forEach((dia, venda) -> relatorioVendasService.registrar(dia.atStartOfDay(), venda[0], venda[1]));
+                saldosPorCliente.forEach((clienteId, saldo) -> saldoClienteService.somar(clienteId, saldo[0], (int) saldo[1]));
+                if (total > 0) {
+                    versoesRecursos.pedidosAlterados(List.of(), saldosPorCliente.keySet());
+                }
+
+                // envia os inserts em batch e solta as entidades antes do próximo bloco
+                entityManager.flush();
+                entityManager.clear();
+                return total;
+            });
+
+            erros.addAll(errosDoBloco);
+            return gravados == null ? 0 : gravados;
+        } catch (RuntimeException e) {
+            // a transação do bloco foi desfeita: todos os registros válidos dele falharam
+            Set<Integer> jaComErro = errosDoBloco.stream().map(LoteErroDto::indice).collect(Collectors.toSet());
+            erros.addAll(errosDoBloco);
+            for (Registro registro : bloco) {
+                if (!jaComErro.contains(registro.indice())) {
+                    erros.add(new LoteErroDto(registro.indice(), "Falha ao gravar o bloco: " + e.getMessage()));
+                }
+            }
+            return 0;
+        }
+    }
+
+    // Uma única consulta para todos os clientes referenciados no bloco
+    private Map<UUID, Cliente> buscarClientes(List<Registro> bloco) {
+        Set<UUID> ids = new HashSet<>();
+        for (Registro registro : bloco) {
+            if (registro.dto().idCliente() != null) {
+                ids.add(registro.dto().idCliente());
+            }
+        }
+        return clienteRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+    }
+
+    private static String validar(PedidoDto dto, Map<UUID, Cliente> clientes) {
+        if (dto.idCliente() == null) {
+            return "idCliente é obrigatório";
+        }
+        if (!clientes.containsKey(dto.idCliente())) {
+            return "Cliente não encontrado";
+        }
+        if (dto.itens() == null || dto.itens().isEmpty()) {
+            return "O pedido deve ter ao menos um item";
+        }
+        if (dto.parcelasTotais() == null || dto.parcelasTotais() < 1) {
+            return "parcelasTotais deve ser maior que zero";
+        }
+        return null;
+    }
+}
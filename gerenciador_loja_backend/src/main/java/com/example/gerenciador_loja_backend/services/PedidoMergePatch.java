@@ -0,0 +1,216 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dinheiro.Dinheiro;
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Aplica um JSON Merge Patch (RFC 7396) a um pedido já carregado.
+ * <p>
+ * Campos aceitos: {@code parcelasTotais}, {@code parcelasRestantes} e
+ * {@code itens}. Os itens são um objeto indexado pelo id do item, como o
+ * merge patch prevê para mapas: {@code {"itens": {"<id>": {"quantidade": 2},
+ * "<id2>": null}}} altera o primeiro e remove o segundo; uma chave que não é
+ * id de item do pedido cria um item novo. Os itens são resolvidos por um mapa
+ * montado uma vez, e só valores realmente diferentes são escritos na
+ * entidade, então o Hibernate só gera SQL para as linhas alteradas.
+ * <p>
+ * Entrada inválida gera {@link IllegalArgumentException}; quem chama deve
+ * estar numa transação para que nada do que já foi aplicado seja gravado.
+ */
+final class PedidoMergePatch {
+
+    private PedidoMergePatch() {
+    }
+
+    record Resultado(boolean itensAlterados, boolean parcelasTotaisAlteradas, boolean parcelasRestantesAlteradas) {
+        boolean alterou() {
+            return itensAlterados || parcelasTotaisAlteradas || parcelasRestantesAlteradas;
+        }
+    }
+
+    static Resultado aplicar(Pedido pedido, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("O patch deve ser um objeto JSON");
+        }
+        for (Iterator<String> campos = patch.fieldNames(); campos.hasNext(); ) {
+            String campo = campos.next();
+            if (!campo.equals("parcelasTotais") && !campo.equals("parcelasRestantes") && !campo.equals("itens")) {
+                throw new IllegalArgumentException("Campo não pode ser alterado: " + campo);
+            }
+        }
+
+        // valida as parcelas antes de mexer em qualquer coisa
+        int parcelasTotais = pedido.getParcelasTotais();
+        if (patch.has("parcelasTotais")) {
+            parcelasTotais = inteiro(patch.get("parcelasTotais"), "parcelasTotais");
+            if (parcelasTotais < pedido.getParcelasTotais()) {
+                throw new IllegalArgumentException("As parcelas totais não podem ser reduzidas.");
+            }
+        }
+        Integer parcelasRestantes = pedido.getParcelasRestantes();
+        if (patch.has("parcelasRestantes")) {
+            parcelasRestantes = inteiro(patch.get("parcelasRestantes"), "parcelasRestantes");
+            if (parcelasRestantes < 0) {
+                throw new IllegalArgumentException("Parcelas restantes não podem ser negativas");
+            }
+            if (parcelasRestantes > parcelasTotais) {
+                throw new IllegalArgumentException("Parcelas restantes não podem ser maiores que o total");
+            }
+        }
+
+        boolean itensAlterados = patch.has("itens") && aplicarItens(pedido, patch.get("itens"));
+
+        boolean totaisAlteradas = parcelasTotais != pedido.getParcelasTotais();
+        if (totaisAlteradas) pedido.setParcelasTotais(parcelasTotais);
+        boolean restantesAlteradas = !Objects.equals(parcelasRestantes, pedido.getParcelasRestantes());
+        if (restantesAlteradas) pedido.setParcelasRestantes(parcelasRestantes);
+
+        return new Resultado(itensAlterados, totaisAlteradas, restantesAlteradas);
+    }
+
+    private static boolean aplicarItens(Pedido pedido, JsonNode itens) {
+        if (!itens.isObject()) {
+            throw new IllegalArgumentException("itens deve ser um objeto indexado pelo id do item");
+        }
+
+        Map<UUID, ItemPedido> porId = new HashMap<>(pedido.getItens().size() * 2);
+        for (ItemPedido item : pedido.getItens()) {
+            porId.put(item.getId(), item);
+        }
+
+        boolean alterou = false;
+        Set<UUID> remover = new HashSet<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = itens.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> entrada = it.next();
+            ItemPedido existente = porId.get(idOuNull(entrada.getKey()));
+            JsonNode valor = entrada.getValue();
+
+            if (existente != null) {
+                if (valor.isNull()) {
+                    remover.add(existente.getId());
+                    alterou = true;
+                } else {
+                    alterou |= mesclar(existente, objeto(valor, entrada.getKey()));
+                }
+            } else if (!valor.isNull()) {
+                // chave desconhecida: item novo (null para um item que não existe não faz nada)
+                JsonNode novo = objeto(valor, entrada.getKey());
+                for (String obrigatorio : new String[]{"nome", "preco", "quantidade"}) {
+                    if (!novo.hasNonNull(obrigatorio)) {
+                        throw new IllegalArgumentException("Item novo '" + entrada.getKey() + "' sem " + obrigatorio);
+                    }
+                }
+                ItemPedido item = new ItemPedido();
+                mesclar(item, novo);
+                pedido.addItem(item);
+                alterou = true;
+            }
+        }
+
+        // uma passada só pela lista; orphanRemoval apaga as linhas
+        if (!remover.isEmpty()) {
+            pedido.getItens().removeIf(item -> remover.contains(item.getId()));
+        }
+        return alterou;
+    }
+
+    // Escreve só os campos presentes e diferentes; devolve se algo mudou
+    private static boolean mesclar(ItemPedido item, JsonNode patch) {
+        boolean alterou = false;
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> campo = it.next();
+            JsonNode valor = campo.getValue();
+            switch (campo.getKey()) {
+                case "id" -> { }
+                case "nome" -> {
+                    String nome = texto(valor, "nome");
+                    if (!nome.equals(item.getNomeProduto())) {
+                        item.setNomeProduto(nome);
+                        alterou = true;
+                    }
+                }
+                case "preco" -> {
+                    long preco = centavos(valor);
+                    if (preco != item.getPrecoUnitarioCentavos()) {
+                        item.setPrecoUnitarioCentavos(preco);
+                        alterou = true;
+                    }
+                }
+                case "quantidade" -> {
+                    int quantidade = inteiro(valor, "quantidade");
+                    if (quantidade < 1) {
+                        throw new IllegalArgumentException("A quantidade do item deve ser maior que zero");
+                    }
+                    if (!Objects.equals(quantidade, item.getQuantidade())) {
+                        item.setQuantidade(quantidade);
+                        alterou = true;
+                    }
+                }
+                case "tamanho" -> {
+                    // null limpa o tamanho, como manda o merge patch
+                    String tamanho = valor.isNull() ? null : texto(valor, "tamanho");
+                    if (!Objects.equals(tamanho, item.getTamanho())) {
+                        item.setTamanho(tamanho);
+                        alterou = true;
+                    }
+                }
+                default -> throw new IllegalArgumentException("Campo de item desconhecido: " + campo.getKey());
+            }
+        }
+        return alterou;
+    }
+
+    // ============================================================
+    // MÉTODOS AUXILIARES
+    // ============================================================
+    private static UUID idOuNull(String chave) {
+        try {
+            return UUID.fromString(chave);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode objeto(JsonNode valor, String chave) {
+        if (!valor.isObject()) {
+            throw new IllegalArgumentException("O item '" + chave + "' deve ser um objeto ou null");
+        }
+        return valor;
+    }
+
+    private static int inteiro(JsonNode valor, String campo) {
+        if (!valor.isIntegralNumber() || !valor.canConvertToInt()) {
+            throw new IllegalArgumentException(campo + " deve ser um número inteiro");
+        }
+        return valor.intValue();
+    }
+
+    private static String texto(JsonNode valor, String campo) {
+        if (!valor.isTextual()) {
+            throw new IllegalArgumentException(campo + " deve ser um texto");
+        }
+        return valor.textValue();
+    }
+
+    // Mesmo formato aceito no POST: número ou texto em reais
+    private static long centavos(JsonNode valor) {
+        try {
+            if (valor.isTextual()) return Dinheiro.centavos(new BigDecimal(valor.textValue().trim()));
+            if (valor.isNumber()) return Dinheiro.centavos(valor.decimalValue());
+        } catch (NumberFormatException | ArithmeticException e) {
+            // cai na mensagem abaixo
+        }
+        throw new IllegalArgumentException("preco deve ser um valor em reais");
+    }
+}
@@ -1,36 +1,81 @@
 package com.example.gerenciador_loja_backend.services;
 
+import com.example.gerenciador_loja_backend.dinheiro.Dinheiro;
+import com.example.gerenciador_loja_backend.dtos.BaixaParcelaDto;
+import com.example.gerenciador_loja_backend.dtos.BaixaParcelaResultadoDto;
 import com.example.gerenciador_loja_backend.dtos.ItemPedidoDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoCursor;
+import com.example.gerenciador_loja_backend.dtos.ParcelaBaixaDto;
 import com.example.gerenciador_loja_backend.dtos.PedidoDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoFiltroDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoPagina;
+import com.example.gerenciador_loja_backend.dtos.PedidoResponseDto;
+import com.example.gerenciador_loja_backend.enuns.OrdemPedido;
 import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
 import com.example.gerenciador_loja_backend.models.Cliente;
 import com.example.gerenciador_loja_backend.models.ItemPedido;
 import com.example.gerenciador_loja_backend.models.Pedido;
 import com.example.gerenciador_loja_backend.repositories.ClienteRepository;
 import com.example.gerenciador_loja_backend.repositories.PedidoRepository;
+import com.example.gerenciador_loja_backend.repositories.PedidoSpecifications;
+import com.example.gerenciador_loja_backend.services.SaldoClienteService.Contribuicao;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class PedidoService {
 
+    public static final int TAMANHO_PADRAO_PAGINA = 20;
+    public static final int TAMANHO_MAXIMO_PAGINA = 100;
+    public static final int MAXIMO_BAIXAS_POR_LOTE = 1000;
+
     private final PedidoRepository pedidoRepository;
     private final ClienteRepository clienteRepository;
-
-    public PedidoService(PedidoRepository pedidoRepository, ClienteRepository clienteRepository) {
+    private final RelatorioVendasService relatorioVendasService;
+    private final SaldoClienteService saldoClienteService;
+    private final VersoesRecursos versoesRecursos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PedidoService(PedidoRepository pedidoRepository,
+                         ClienteRepository clienteRepository,
+                         RelatorioVendasService relatorioVendasService,
+                         SaldoClienteService saldoClienteService,
+                         VersoesRecursos versoesRecursos) {
         this.pedidoRepository = pedidoRepository;
         this.clienteRepository = clienteRepository;
+        this.relatorioVendasService = relatorioVendasService;
+        this.saldoClienteService = saldoClienteService;
+        this.versoesRecursos = versoesRecursos;
     }
 
     // ============================================================
     // CRIAR PEDIDO
     // ============================================================
+    @Transactional
     public ResponseEntity<Object> criarPedido(PedidoDto dto) {
         Optional<Cliente> clienteOptional = clienteRepository.findById(dto.idCliente());
         if (clienteOptional.isEmpty()) {
@@ -38,75 +83,123 @@ public class PedidoService {
         }
         Cliente cliente = clienteOptional.get();
 
-        Pedido pedido = new Pedido();
-        pedido.setCliente(cliente);
-        pedido.setParcelasTotais(dto.parcelasTotais());
-        pedido.setParcelasRestantes(dto.parcelasTotais());
-        pedido.setStatusDePagamento(StatusDePagamento.PENDENTE);
-
-        // converter ItemPedidoDto -> ItemPedido e setar o pedido em cada item
-        List<ItemPedido> itens = dto.itens().stream().map(i -> {
-            ItemPedido item = new ItemPedido();
-            item.setNomeProduto(i.nome());
-            item.setPrecoUnitario(i.preco());
-            item.setQuantidade(i.quantidade());
-            item.setTamanho(i.tamanho());
-            item.setPedido(pedido);
-            return item;
-        }).collect(Collectors.toList());
+        Pedido pedido = montarPedido(dto, cliente);
 
-        pedido.setItens(itens);
+        Pedido salvo = pedidoRepository.save(pedido);
+        relatorioVendasService.registrar(salvo.getDataCriacao(), salvo.getValorTotalCentavos(), 1);
+        saldoClienteService.aplicar(cliente.getId(), Contribuicao.NENHUMA, Contribuicao.de(salvo));
+        versoesRecursos.pedidoAlterado(salvo.getId(), cliente.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(PedidoResponseDto.de(salvo));
+    }
 
-        // Calcula o valor total
-        calcularValorTotal(pedido);
+    // ============================================================
+    // LISTAR PEDIDOS (PAGINAÇÃO POR CURSOR)
+    // ============================================================
+    // 1 select para a página (com cliente) + 1 select em lote para os itens
+    @Transactional(readOnly = true)
+    public PedidoPagina listarPedidos(String cursor, int tamanho, OrdemPedido ordem) {
+        int limite = Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+        PedidoCursor posicao = (cursor == null || cursor.isBlank()) ? null : PedidoCursor.decode(cursor);
+
+        // busca um registro a mais só para saber se existe próxima página
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<Pedido> pedidos;
+        if (ordem == OrdemPedido.ANTIGO) {
+            pedidos = posicao == null
+                    ? pedidoRepository.findAntigos(pageable)
+                    : pedidoRepository.findAntigosApos(posicao.dataCriacao(), posicao.id(), pageable);
+        } else {
+            pedidos = posicao == null
+                    ? pedidoRepository.findRecentes(pageable)
+                    : pedidoRepository.findRecentesApos(posicao.dataCriacao(), posicao.id(), pageable);
+        }
 
-        //calcular o valor da parcela
-        calcularValorParcela(pedido);
+        if (pedidos.size() <= limite) {
+            return new PedidoPagina(paraDtos(pedidos), null);
+        }
 
-        Pedido salvo = pedidoRepository.save(pedido);
-        return ResponseEntity.status(HttpStatus.CREATED).body(salvo);
+        List<Pedido> pagina = pedidos.subList(0, limite);
+        Pedido ultimo = pagina.get(limite - 1);
+        return new PedidoPagina(paraDtos(pagina), new PedidoCursor(ultimo.getDataCriacao(), ultimo.getId()).encode());
     }
 
     // ============================================================
-    // LISTAR TODOS OS PEDIDOS
+    // BUSCAR PEDIDOS COM FILTROS (NO BANCO)
     // ============================================================
-    public List<Pedido> getAllPedidos() {
-        return pedidoRepository.findAll();
+    @Transactional(readOnly = true)
+    public Page<PedidoResponseDto> buscarPedidos(PedidoFiltroDto filtro, int pagina, int tamanho) {
+        Sort.Direction direcao = filtro.ordem() == OrdemPedido.ANTIGO ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(
+                Math.max(pagina, 0),
+                Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA)),
+                Sort.by(direcao, "dataCriacao", "id")
+        );
+        return pedidoRepository.findAll(PedidoSpecifications.doFiltro(filtro), pageable)
+                .map(PedidoResponseDto::de);
     }
 
     // ============================================================
     // BUSCAR PEDIDO POR ID
     // ============================================================
+    @Transactional(readOnly = true)
     public ResponseEntity<Object> getOnePedido(UUID id) {
-        Optional<Pedido> pedido = pedidoRepository.findById(id);
+        Optional<Pedido> pedido = pedidoRepository.findComClienteEItensById(id);
         if (pedido.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado");
         }
-        return ResponseEntity.ok(pedido.get());
+        return ResponseEntity.ok(PedidoResponseDto.de(pedido.get()));
     }
 
     // ============================================================
     // EDITAR PEDIDO
     // ============================================================
+    @Transactional
     public ResponseEntity<Object> editPedido(UUID id, PedidoDto dto) {
-        Optional<Pedido> pedidoOpt = pedidoRepository.findById(id);
+        Optional<Pedido> pedidoOpt = pedidoRepository.findComClienteEItensById(id);
         if (pedidoOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado");
         }
 
         Pedido pedido = pedidoOpt.get();
 
+        // Edição feita sobre uma leitura antiga: o @Version só pega quem grava entre esta leitura e o commit
+        if (dto.versao() != null && dto.versao() != pedido.getVersao()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("O pedido foi alterado por outra operação. Recarregue e tente novamente.");
+        }
+
+        // Valida antes de alterar: dentro da transação, uma entidade alterada seria gravada mesmo com erro
+        if (dto.parcelasTotais() != null && dto.parcelasTotais() < pedido.getParcelasTotais()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("As parcelas totais não podem ser reduzidas.");
+        }
+        int parcelasTotais = dto.parcelasTotais() != null ? dto.parcelasTotais() : pedido.getParcelasTotais();
+        if (dto.parcelasRestantes() != null) {
+            if (dto.parcelasRestantes() < 0) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body("Parcelas restantes não podem ser negativas");
+            }
+            if (dto.parcelasRestantes() > parcelasTotais) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body("Parcelas restantes não podem ser maiores que o total");
+            }
+        }
+
+        long valorAnterior = pedido.getValorTotalCentavos();
+        Contribuicao antes = Contribuicao.de(pedido);
+
         // Atualiza itens
         if (dto.itens() != null) {
+            Map<UUID, ItemPedido> itensPorId = new HashMap<>(pedido.getItens().size() * 2);
+            pedido.getItens().forEach(i -> itensPorId.put(i.getId(), i));
+
             for (ItemPedidoDto itemDto : dto.itens()) {
                 if (itemDto.id() != null) {
                     // Atualiza item existente
-                    pedido.getItens().stream()
-                            .filter(i -> i.getId().equals(itemDto.id()))
-                            .findFirst()
+                    Optional.ofNullable(itensPorId.get(itemDto.id()))
                             .ifPresent(i -> {
                                 if (itemDto.nome() != null) i.setNomeProduto(itemDto.nome());
-                                if (itemDto.preco() != null) i.setPrecoUnitario(itemDto.preco());
+                                if (itemDto.precoCentavos() != null) i.setPrecoUnitarioCentavos(itemDto.precoCentavos());
                                 if (itemDto.quantidade() != null) i.setQuantidade(itemDto.quantidade());
                                 if (itemDto.tamanho() != null) i.setTamanho(itemDto.tamanho());
                             });
@@ -114,7 +207,7 @@ public class PedidoService {
                     // Cria novo item
                     ItemPedido novoItem = new ItemPedido();
                     novoItem.setNomeProduto(itemDto.nome());
-                    novoItem.setPrecoUnitario(itemDto.preco());
+                    novoItem.setPrecoUnitarioCentavos(valorOuZero(itemDto.precoCentavos()));
                     novoItem.setQuantidade(itemDto.quantidade());
                     novoItem.setTamanho(itemDto.tamanho());
                     novoItem.setPedido(pedido);
@@ -122,71 +215,252 @@ public class PedidoService {
                 }
             }
 
-            calcularValorTotal(pedido); // recalcula valor total
-            calcularValorParcela(pedido); // recalcula o valor da parcela
+            CalculadoraPedido.calcularValorTotal(pedido); // recalcula valor total
+            CalculadoraPedido.calcularValorParcela(pedido); // recalcula o valor da parcela
         }
 
         // Atualiza parcelas totais
-        if (dto.parcelasTotais() != null) {
-            if (dto.parcelasTotais() < pedido.getParcelasTotais()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("As parcelas totais não podem ser reduzidas.");
-            }
-            pedido.setParcelasTotais(dto.parcelasTotais());
-        }
+        pedido.setParcelasTotais(parcelasTotais);
 
         // Atualiza parcelas restantes
         if (dto.parcelasRestantes() != null) {
-            if (dto.parcelasRestantes() < 0) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Parcelas restantes não podem ser negativas");
-            }
-            if (dto.parcelasRestantes() > pedido.getParcelasTotais()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Parcelas restantes não podem ser maiores que o total");
-            }
             pedido.setParcelasRestantes(dto.parcelasRestantes());
         }
 
         atualizarStatus(pedido);
 
-        return ResponseEntity.ok(pedidoRepository.save(pedido));
+        Pedido salvo = pedidoRepository.save(pedido);
+        relatorioVendasService.registrar(salvo.getDataCriacao(), salvo.getValorTotalCentavos() - valorAnterior, 0);
+        saldoClienteService.aplicar(clienteId(salvo), antes, Contribuicao.de(salvo));
+        versoesRecursos.pedidoAlterado(salvo.getId(), clienteId(salvo));
+        return ResponseEntity.ok(PedidoResponseDto.de(salvo));
     }
 
 
 
     // ============================================================
-    // DIMINUIR 1 PARCELA
+    // EDITAR PEDIDO (JSON MERGE PATCH)
     // ============================================================
-    public ResponseEntity<Object> diminuirParcela(UUID id) {
-        Optional<Pedido> pedidoOpt = pedidoRepository.findById(id);
+    // Sem alteração efetiva não recalcula nada e não grava nada
+    @Transactional
+    public ResponseEntity<Object> patchPedido(UUID id, JsonNode patch) {
+        Optional<Pedido> pedidoOpt = pedidoRepository.findComClienteEItensById(id);
         if (pedidoOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado");
         }
 
         Pedido pedido = pedidoOpt.get();
+        long valorAnterior = pedido.getValorTotalCentavos();
+        Contribuicao antes = Contribuicao.de(pedido);
+
+        PedidoMergePatch.Resultado resultado = PedidoMergePatch.aplicar(pedido, patch);
+        if (!resultado.alterou()) {
+            return ResponseEntity.ok(PedidoResponseDto.de(pedido));
+        }
+
+        if (resultado.itensAlterados()) {
+            CalculadoraPedido.calcularValorTotal(pedido);
+        }
+        if (resultado.itensAlterados() || resultado.parcelasTotaisAlteradas()) {
+            CalculadoraPedido.calcularValorParcela(pedido);
+        }
+        if (resultado.parcelasRestantesAlteradas()) {
+            atualizarStatus(pedido);
+        }
+
+        // mudanças só nos itens (sem mudar o total) não sujam o pedido; a versão sobe mesmo assim
+        boolean pedidoAlterado = pedido.getValorTotalCentavos() != valorAnterior
+                || resultado.parcelasTotaisAlteradas() || resultado.parcelasRestantesAlteradas();
+        if (!pedidoAlterado) {
+            entityManager.lock(pedido, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+
+        relatorioVendasService.registrar(pedido.getDataCriacao(), pedido.getValorTotalCentavos() - valorAnterior, 0);
+        saldoClienteService.aplicar(clienteId(pedido), antes, Contribuicao.de(pedido));
+        versoesRecursos.pedidoAlterado(pedido.getId(), clienteId(pedido));
+        return ResponseEntity.ok(PedidoResponseDto.de(pedido));
+    }
 
-        if (pedido.getParcelasRestantes() <= 0) {
+    // ============================================================
+    // DIMINUIR 1 PARCELA
+    // ============================================================
+    // Um único UPDATE condicional: sem select antes e sem baixa perdida quando dois pedidos de baixa chegam juntos
+    @Transactional
+    public ResponseEntity<Object> diminuirParcela(UUID id) {
+        Optional<PedidoRepository.ParcelaBaixada> baixa = baixaForaDaSessao(() -> pedidoRepository.baixarParcelas(id, 1));
+        if (baixa.isEmpty()) {
+            // nada foi alterado: só agora vale a pena descobrir o motivo
+            if (!pedidoRepository.existsById(id)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado");
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Não há parcelas restantes para diminuir");
         }
 
-        pedido.setParcelasRestantes(pedido.getParcelasRestantes() - 1);
-        atualizarStatus(pedido);
+        ParcelaBaixaDto resultado = paraBaixaDto(baixa.get());
+        saldoClienteService.somar(baixa.get().getClienteId(),
+                -reducaoDoSaldo(baixa.get(), 1), resultado.parcelasRestantes() == 0 ? -1 : 0);
+        versoesRecursos.pedidoAlterado(id, baixa.get().getClienteId());
+        return ResponseEntity.ok(resultado);
+    }
+
+    // ============================================================
+    // BAIXA DE PARCELAS EM LOTE
+    // ============================================================
+    // Um UPDATE para todos os pedidos, um select só se houver recusas e um update de saldo por cliente
+    @Transactional
+    public List<BaixaParcelaResultadoDto> baixarParcelas(List<BaixaParcelaDto> baixas) {
+        if (baixas.size() > MAXIMO_BAIXAS_POR_LOTE) {
+            throw new IllegalArgumentException("No máximo " + MAXIMO_BAIXAS_POR_LOTE + " baixas por requisição");
+        }
+
+        // o mesmo pedido repetido na lista vira uma baixa só, com as quantidades somadas
+        Map<UUID, Integer> quantidades = new TreeMap<>();
+        for (BaixaParcelaDto baixa : baixas) {
+            if (baixa.pedidoId() != null && baixa.quantidade() != null && baixa.quantidade() > 0) {
+                quantidades.merge(baixa.pedidoId(), baixa.quantidade(), Integer::sum);
+            }
+        }
 
-        return ResponseEntity.ok(pedidoRepository.save(pedido));
+        Map<UUID, PedidoRepository.ParcelaBaixada> baixados = new HashMap<>();
+        if (!quantidades.isEmpty()) {
+            // ids em ordem: transações concorrentes travam as linhas na mesma sequência
+            baixaForaDaSessao(() -> pedidoRepository.baixarParcelasEmLote(
+                    quantidades.keySet().toArray(UUID[]::new),
+                    quantidades.values().toArray(Integer[]::new)
+            )).forEach(b -> baixados.put(b.getId(), b));
+        }
+
+        Set<UUID> recusados = new HashSet<>(quantidades.keySet());
+        recusados.removeAll(baixados.keySet());
+        Set<UUID> existentes = recusados.isEmpty()
+                ? Set.of()
+                : new HashSet<>(pedidoRepository.findIdsExistentes(recusados));
+
+        Map<UUID, long[]> saldosPorCliente = new HashMap<>();
+        Map<UUID, ParcelaBaixaDto> aplicadas = new HashMap<>();
+        baixados.forEach((id, baixa) -> {
+            ParcelaBaixaDto resultado = paraBaixaDto(baixa);
+            aplicadas.put(id, resultado);
+            long[] saldo = saldosPorCliente.computeIfAbsent(baixa.getClienteId(), c -> new long[2]);
+            saldo[0] -= reducaoDoSaldo(baixa, quantidades.get(id));
+            if (resultado.parcelasRestantes() == 0) saldo[1]--;
+        });
+        saldosPorCliente.forEach((clienteId, saldo) -> saldoClienteService.somar(clienteId, saldo[0], (int) saldo[1]));
+        if (!baixados.isEmpty()) {
+            versoesRecursos.pedidosAlterados(baixados.keySet(), saldosPorCliente.keySet());
+        }
+
+        // uma resposta por pedido, na ordem em que apareceu na requisição
+        List<BaixaParcelaResultadoDto> resultados = new ArrayList<>();
+        Set<UUID> respondidos = new HashSet<>();
+        for (BaixaParcelaDto baixa : baixas) {
+            int quantidade = baixa.quantidade() == null ? 0 : baixa.quantidade();
+            if (baixa.pedidoId() == null) {
+                resultados.add(BaixaParcelaResultadoDto.recusada(null, quantidade, "pedidoId é obrigatório"));
+            } else if (quantidade < 1) {
+                resultados.add(BaixaParcelaResultadoDto.recusada(baixa.pedidoId(), quantidade,
+                        "A quantidade deve ser maior que zero"));
+            } else if (!respondidos.add(baixa.pedidoId())) {
+                continue;
+            } else if (aplicadas.containsKey(baixa.pedidoId())) {
+                resultados.add(BaixaParcelaResultadoDto.aplicada(
+                        quantidades.get(baixa.pedidoId()), aplicadas.get(baixa.pedidoId())));
+            } else if (existentes.contains(baixa.pedidoId())) {
+                resultados.add(BaixaParcelaResultadoDto.recusada(baixa.pedidoId(), quantidades.get(baixa.pedidoId()),
+                        "Não há parcelas restantes suficientes"));
+            } else {
+                resultados.add(BaixaParcelaResultadoDto.recusada(baixa.pedidoId(), quantidades.get(baixa.pedidoId()),
+                        "Pedido não encontrado"));
+            }
+        }
+        return resultados;
     }
 
     // ============================================================
     // FILTRAR PEDIDOS POR STATUS
     // ============================================================
+    @Transactional(readOnly = true)
     public ResponseEntity<Object> getByStatus(StatusDePagamento status) {
-        return ResponseEntity.ok(pedidoRepository.findByStatusDePagamento(status));
+        return ResponseEntity.ok(paraDtos(pedidoRepository.findByStatusDePagamento(status)));
     }
 
     // ============================================================
     // MÉTODOS AUXILIARES
     // ============================================================
+    // Monta um pedido novo (ainda não salvo) com itens, total e parcela calculados
+    static Pedido montarPedido(PedidoDto dto, Cliente cliente) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setParcelasTotais(dto.parcelasTotais());
+        pedido.setParcelasRestantes(dto.parcelasTotais());
+        pedido.setStatusDePagamento(StatusDePagamento.PENDENTE);
+
+        // converter ItemPedidoDto -> ItemPedido e setar o pedido em cada item
+        List<ItemPedido> itens = dto.itens().stream().map(i -> {
+            ItemPedido item = new ItemPedido();
+            item.setNomeProduto(i.nome());
+            item.setPrecoUnitarioCentavos(valorOuZero(i.precoCentavos()));
+            item.setQuantidade(i.quantidade());
+            item.setTamanho(i.tamanho());
+            item.setPedido(pedido);
+            return item;
+        }).collect(Collectors.toList());
+
+        pedido.setItens(itens);
+
+        // Calcula o valor total
+        CalculadoraPedido.calcularValorTotal(pedido);
+
+        //calcular o valor da parcela
+        CalculadoraPedido.calcularValorParcela(pedido);
+
+        return pedido;
+    }
+
+    // Os UPDATEs de baixa rodam como leitura (ver PedidoRepository.baixarParcelas): o flush antes grava o que
+    // a sessão tiver pendente e o clear depois descarta qualquer Pedido que tenha ficado com parcelas e versão antigas
+    private <T> T baixaForaDaSessao(Supplier<T> baixa) {
+        entityManager.flush();
+        T resultado = baixa.get();
+        entityManager.clear();
+        return resultado;
+    }
+
+    // Estado do pedido depois de uma baixa já gravada, com o que ainda falta pagar
+    private static ParcelaBaixaDto paraBaixaDto(PedidoRepository.ParcelaBaixada baixa) {
+        long saldo = CalculadoraPedido.saldoDevedor(Dinheiro.centavos(baixa.getValorTotal()),
+                parcelas(baixa.getParcelasTotais()), baixa.getParcelasRestantes());
+        return new ParcelaBaixaDto(baixa.getId(), baixa.getParcelasRestantes(),
+                StatusDePagamento.valueOf(baixa.getStatusDePagamento()), saldo);
+    }
+
+    // Quanto o saldo do pedido caiu com a baixa de 'quantidade' parcelas
+    private static long reducaoDoSaldo(PedidoRepository.ParcelaBaixada baixa, int quantidade) {
+        long total = Dinheiro.centavos(baixa.getValorTotal());
+        int parcelas = parcelas(baixa.getParcelasTotais());
+        int restantes = baixa.getParcelasRestantes();
+        return CalculadoraPedido.saldoDevedor(total, parcelas, restantes + quantidade)
+                - CalculadoraPedido.saldoDevedor(total, parcelas, restantes);
+    }
+
+    private static int parcelas(Integer parcelasTotais) {
+        return parcelasTotais == null || parcelasTotais < 1 ? 1 : parcelasTotais;
+    }
+
+    // Lê só o id do proxy LAZY, sem disparar select no cliente
+    private static UUID clienteId(Pedido pedido) {
+        return pedido.getCliente() == null ? null : pedido.getCliente().getId();
+    }
+
+    private static long valorOuZero(Long centavos) {
+        return centavos == null ? 0L : centavos;
+    }
+
+    private List<PedidoResponseDto> paraDtos(List<Pedido> pedidos) {
+        return pedidos.stream().map(PedidoResponseDto::de).toList();
+    }
+
     private void atualizarStatus(Pedido pedido) {
         if (pedido.getParcelasRestantes() == 0) {
             pedido.setStatusDePagamento(StatusDePagamento.PAGO);
@@ -195,27 +469,19 @@ public class PedidoService {
         }
     }
 
-    private void calcularValorTotal(Pedido pedido) {
-        double total = pedido.getItens().stream()
-                .mapToDouble(i -> i.getPrecoUnitario() * i.getQuantidade())
-                .sum();
-        pedido.setValorTotal(total);
-    }
-
-    private void calcularValorParcela(Pedido pedido){
-        double parcela = pedido.getValorTotal() / pedido.getParcelasTotais();
-        pedido.setValorParcelas(parcela);
-    }
-
     // ============================================================
     // EXCLUIR PEDIDO
     // ============================================================
+    @Transactional
     public ResponseEntity<Object> deletePedido(UUID id) {
         Optional<Pedido> pedido = pedidoRepository.findById(id);
         if (pedido.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Pedido não encontrado");
         }
-        pedidoRepository.deleteById(id);
+        pedidoRepository.delete(pedido.get());
+        relatorioVendasService.registrar(pedido.get().getDataCriacao(), -pedido.get().getValorTotalCentavos(), -1);
+        saldoClienteService.aplicar(clienteId(pedido.get()), Contribuicao.de(pedido.get()), Contribuicao.NENHUMA);
+        versoesRecursos.pedidoAlterado(id, clienteId(pedido.get()));
         return ResponseEntity.ok("Pedido excluído com sucesso");
     }
 }
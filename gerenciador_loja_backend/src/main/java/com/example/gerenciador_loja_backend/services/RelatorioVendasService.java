@@ -0,0 +1,171 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dinheiro.Dinheiro;
+import com.example.gerenciador_loja_backend.dtos.VendaPeriodoDto;
+import com.example.gerenciador_loja_backend.enuns.Granularidade;
+import com.example.gerenciador_loja_backend.models.VendaDiaria;
+import com.example.gerenciador_loja_backend.repositories.VendaDiariaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Série de vendas por dia, semana ou mês lida da tabela venda_diaria.
+ * <p>
+ * A tabela é mantida incrementalmente pelo PedidoService e pela importação
+ * em lote (um upsert por dia afetado), então o relatório nunca varre
+ * pedidos ou itens: lê no máximo uma linha por dia do período. A
+ * reconstrução completa a partir dos pedidos roda de madrugada e pode ser
+ * disparada manualmente.
+ * <p>
+ * O agendamento dispara em todas as instâncias ao mesmo tempo. Cada
+ * reconstrução pega antes uma advisory lock de transação no Postgres: só uma
+ * roda por vez (e trava venda_diaria em EXCLUSIVE), e a manual responde que
+ * já há uma em andamento. A agendada também reserva o horário na tabela
+ * reconstrucao_agendada, então uma instância que dispara depois de outra já
+ * ter terminado também não reconstrói de novo.
+ */
+@Service
+public class RelatorioVendasService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioVendasService.class);
+
+    static final int MAXIMO_PONTOS = 1000;
+
+    // Chave da advisory lock da reconstrução, compartilhada por todas as instâncias no mesmo banco
+    static final long TRAVA_RECONSTRUCAO = 0x76656E6461L; // "venda"
+
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final Duration intervaloMinimo;
+
+    public RelatorioVendasService(VendaDiariaRepository vendaDiariaRepository,
+                                  @Value("${relatorios.vendas.reconstrucao.intervalo-minimo:PT1H}") Duration intervaloMinimo) {
+        this.vendaDiariaRepository = vendaDiariaRepository;
+        this.intervaloMinimo = intervaloMinimo;
+    }
+
+    // ============================================================
+    // ATUALIZAÇÃO INCREMENTAL
+    // ============================================================
+    // Deve ser chamado na mesma transação que grava o pedido
+    public void registrar(LocalDateTime dataCriacao, long deltaReceitaCentavos, long deltaPedidos) {
+        if (deltaReceitaCentavos == 0 && deltaPedidos == 0) return;
+        vendaDiariaRepository.somar(dataCriacao.toLocalDate(), Dinheiro.reais(deltaReceitaCentavos), deltaPedidos);
+    }
+
+    // ============================================================
+    // RECONSTRUÇÃO
+    // ============================================================
+    // Manual (RelatorioController); IllegalStateException se outra reconstrução estiver em andamento
+    @Transactional
+    public int reconstruir() {
+        if (!vendaDiariaRepository.tentarTravarReconstrucao(TRAVA_RECONSTRUCAO)) {
+            throw new IllegalStateException("Reconstrução do relatório de vendas já em andamento");
+        }
+        return reconstruirTravado();
+    }
+
+    @Scheduled(cron = "${relatorios.vendas.reconstrucao.cron:0 30 3 * * *}")
+    @Transactional
+    public void reconstruirAgendada() {
+        if (!vendaDiariaRepository.tentarTravarReconstrucao(TRAVA_RECONSTRUCAO)) {
+            log.info("Reconstrução de venda_diaria já em andamento em outra instância; esta não roda");
+            return;
+        }
+        if (vendaDiariaRepository.reservarReconstrucaoAgendada(intervaloMinimo.toSeconds()) == 0) {
+            log.info("venda_diaria já reconstruída neste horário por outra instância; esta não roda");
+            return;
+        }
+        reconstruirTravado();
+    }
+
+    // Com a advisory lock já tomada nesta transação
+    private int reconstruirTravado() {
+        // bloqueia os upserts concorrentes até o commit: nenhum pedido é contado duas vezes ou perdido
+        vendaDiariaRepository.bloquearParaReconstrucao();
+        vendaDiariaRepository.apagarTudo();
+        int dias = vendaDiariaRepository.recalcularDePedidos();
+        log.info("venda_diaria reconstruída: {} dias", dias);
+        return dias;
+    }
+
+    // ============================================================
+    // CONSULTA
+    // ============================================================
+    @Transactional(readOnly = true)
+    public List<VendaPeriodoDto> serie(LocalDate de, LocalDate ate, Granularidade granularidade) {
+        if (de.isAfter(ate)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à final");
+        }
+        if (pontos(de, ate, granularidade) > MAXIMO_PONTOS) {
+            throw new IllegalArgumentException("Período longo demais para a granularidade " + granularidade);
+        }
+
+        // períodos vazios também aparecem, com zero, para o gráfico não ter buracos
+        Map<LocalDate, long[]> periodos = new LinkedHashMap<>();
+        for (LocalDate inicio = inicioDoPeriodo(de, granularidade); !inicio.isAfter(ate); inicio = proximo(inicio, granularidade)) {
+            periodos.put(inicio, new long[2]);
+        }
+
+        for (VendaDiaria venda : vendaDiariaRepository.findByDiaBetweenOrderByDiaAsc(de, ate)) {
+            long[] totais = periodos.get(inicioDoPeriodo(venda.getDia(), granularidade));
+            totais[0] += venda.getReceitaCentavos();
+            totais[1] += venda.getQuantidadePedidos();
+        }
+
+        List<VendaPeriodoDto> serie = new ArrayList<>(periodos.size());
+        periodos.forEach((inicio, totais) ->
+                serie.add(new VendaPeriodoDto(inicio, totais[0], totais[1], ticketMedio(totais[0], totais[1]))));
+        return serie;
+    }
+
+    // ============================================================
+    // MÉTODOS AUXILIARES
+    // ============================================================
+    static LocalDate inicioDoPeriodo(LocalDate dia, Granularidade granularidade) {
+        return switch (granularidade) {
+            case DIA -> dia;
+            case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> dia.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate proximo(LocalDate inicio, Granularidade granularidade) {
+        return switch (granularidade) {
+            case DIA -> inicio.plusDays(1);
+            case SEMANA -> inicio.plusWeeks(1);
+            case MES -> inicio.plusMonths(1);
+        };
+    }
+
+    private static long pontos(LocalDate de, LocalDate ate, Granularidade granularidade) {
+        return switch (granularidade) {
+            case DIA -> ChronoUnit.DAYS.between(de, ate);
+            case SEMANA -> ChronoUnit.WEEKS.between(de, ate);
+            case MES -> ChronoUnit.MONTHS.between(de, ate);
+        } + 1;
+    }
+
+    private static long ticketMedio(long receitaCentavos, long quantidadePedidos) {
+        if (quantidadePedidos == 0) return 0;
+        return BigDecimal.valueOf(receitaCentavos)
+                .divide(BigDecimal.valueOf(quantidadePedidos), 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dinheiro.Dinheiro;
+import com.example.gerenciador_loja_backend.dtos.ClienteDevedorDto;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.repositories.ClienteRepository;
+import com.example.gerenciador_loja_backend.repositories.PedidoRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Saldo devedor e quantidade de pedidos em aberto materializados em cada cliente.
+ * <p>
+ * Toda alteração de pedido calcula a contribuição dele antes e depois e soma
+ * a diferença no cliente com um UPDATE atômico, na mesma transação do pedido.
+ * O ranking de devedores lê o índice de saldo em ordem decrescente e para no
+ * limite, sem agregar pedidos. {@link #reconstruir()} recalcula tudo a partir
+ * dos pedidos caso o saldo se desalinhe.
+ * <p>
+ * Como o UPDATE é nativo, o cliente alterado sai do cache de segundo nível na
+ * hora e de novo depois do commit: uma leitura concorrente feita entre os dois
+ * momentos teria guardado o saldo anterior.
+ */
+@Service
+public class SaldoClienteService {
+
+    private static final Logger log = LoggerFactory.getLogger(SaldoClienteService.class);
+
+    public static final int LIMITE_PADRAO_DEVEDORES = 10;
+    public static final int LIMITE_MAXIMO_DEVEDORES = 100;
+
+    private final ClienteRepository clienteRepository;
+    private final PedidoRepository pedidoRepository;
+    private final VersoesRecursos versoesRecursos;
+    private final Cache cacheSegundoNivel;
+
+    public SaldoClienteService(ClienteRepository clienteRepository,
+                               PedidoRepository pedidoRepository,
+                               VersoesRecursos versoesRecursos,
+                               EntityManagerFactory entityManagerFactory) {
+        this.clienteRepository = clienteRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.versoesRecursos = versoesRecursos;
+        this.cacheSegundoNivel = entityManagerFactory.getCache();
+    }
+
+    // O que um pedido soma no cliente: saldo devedor e 1 se ainda não foi quitado
+    public record Contribuicao(long saldoCentavos, int emAberto) {
+
+        public static final Contribuicao NENHUMA = new Contribuicao(0L, 0);
+
+        public static Contribuicao de(Pedido pedido) {
+            long saldo = CalculadoraPedido.saldoDevedor(pedido);
+            boolean aberto = pedido.getParcelasRestantes() != null && pedido.getParcelasRestantes() > 0;
+            return new Contribuicao(saldo, aberto ? 1 : 0);
+        }
+    }
+
+    // ============================================================
+    // ATUALIZAÇÃO INCREMENTAL
+    // ============================================================
+    // Deve ser chamado na mesma transação que grava o pedido
+    public void aplicar(UUID clienteId, Contribuicao antes, Contribuicao depois) {
+        somar(clienteId, depois.saldoCentavos() - antes.saldoCentavos(), depois.emAberto() - antes.emAberto());
+    }
+
+    public void somar(UUID clienteId, long deltaSaldoCentavos, int deltaEmAberto) {
+        if (clienteId == null || (deltaSaldoCentavos == 0 && deltaEmAberto == 0)) return;
+        clienteRepository.somarSaldo(clienteId, Dinheiro.reais(deltaSaldoCentavos), deltaEmAberto);
+        agoraEDepoisDoCommit(() -> cacheSegundoNivel.evict(Cliente.class, clienteId));
+    }
+
+    // ============================================================
+    // DEVEDORES
+    // ============================================================
+    @Transactional(readOnly = true)
+    public List<ClienteDevedorDto> devedores(int limite) {
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO_DEVEDORES));
+        return clienteRepository
+                .findBySaldoDevedorCentavosGreaterThanOrderBySaldoDevedorCentavosDesc(0L, PageRequest.of(0, tamanho))
+                .stream()
+                .map(ClienteDevedorDto::de)
+                .toList();
+    }
+
+    // ============================================================
+    // RECONSTRUÇÃO
+    // ============================================================
+    @Transactional
+    public int reconstruir() {
+        // bloqueia as atualizações incrementais até o commit, para nenhuma se perder no meio do recálculo
+        clienteRepository.bloquearParaReconstrucao();
+
+        Map<UUID, long[]> saldos = new HashMap<>();
+        try (Stream<PedidoRepository.SaldoPedido> pedidos = pedidoRepository.streamSaldosEmAberto()) {
+            pedidos.forEach(p -> {
+                int parcelas = p.getParcelasTotais() == null || p.getParcelasTotais() < 1 ? 1 : p.getParcelasTotais();
+                long[] saldo = saldos.computeIfAbsent(p.getClienteId(), id -> new long[2]);
+                saldo[0] += CalculadoraPedido.saldoDevedor(p.getValorTotalCentavos(), parcelas, p.getParcelasRestantes());
+                saldo[1]++;
+            });
+        }
+
+        clienteRepository.zerarSaldos();
+        saldos.forEach((clienteId, saldo) ->
+                clienteRepository.definirSaldo(clienteId, Dinheiro.reais(saldo[0]), (int) saldo[1]));
+        agoraEDepoisDoCommit(() -> cacheSegundoNivel.evict(Cliente.class));
+        versoesRecursos.saldosReconstruidos();
+
+        log.info("Saldos de clientes reconstruídos: {} clientes com pedidos em aberto", saldos.size());
+        return saldos.size();
+    }
+
+    // ============================================================
+    // CACHE DE SEGUNDO NÍVEL
+    // ============================================================
+    private static void agoraEDepoisDoCommit(Runnable remocao) {
+        remocao.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remocao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versões em memória de clientes e pedidos, usadas para gerar ETags.
+ * <p>
+ * Cada coleção tem um contador que sobe a cada alteração; cada entidade tem
+ * um carimbo tirado de um relógio global, criado no primeiro GET e renovado a
+ * cada alteração. Os serviços avisam as alterações e os contadores só mudam
+ * depois do commit; como o ETag é lido antes da consulta, uma resposta nunca
+ * sai com um ETag mais novo que os dados dela. Quem perde o carimbo (reinício
+ * ou despejo do cache) só recebe um 200 em vez de um 304.
+ * <p>
+ * Com várias instâncias, cada alteração também sai num NOTIFY do PostgreSQL
+ * dentro da própria transação (só é entregue no commit), e
+ * {@link NotificacoesVersoes} aplica nas outras instâncias as alterações
+ * feitas fora delas. Enquanto a escuta não está ativa, os contadores sobem a
+ * cada leitura: nenhum ETag se repete e não sai 304 com dado velho.
+ */
+@Component
+public class VersoesRecursos {
+
+    static final String CANAL = "versoes_recursos";
+
+    // limite do payload do NOTIFY é 8000 bytes; acima disso vai um aviso de "tudo mudou"
+    private static final int MAXIMO_PAYLOAD = 7900;
+
+    enum Tipo { CLIENTE_CRIADO, CLIENTE_ALTERADO, PEDIDOS, SALDOS, TUDO }
+
+    record Alteracao(Tipo tipo, Collection<UUID> pedidos, Collection<UUID> clientes) {}
+
+    // muda a cada inicialização: ETags de antes do reinício nunca batem
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+
+    // identifica as notificações desta instância, que já aplicou as próprias alterações no commit
+    private final String origem = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean notificar;
+    private volatile boolean sincronizado;
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final AtomicLong colecaoClientes = new AtomicLong();
+    private final AtomicLong colecaoPedidos = new AtomicLong();
+    private final Cache<UUID, Long> versoesClientes;
+    private final Cache<UUID, Long> versoesPedidos;
+
+    public VersoesRecursos(JdbcTemplate jdbcTemplate,
+                           @Value("${api.etag.notificacoes.habilitado:true}") boolean notificar,
+                           @Value("${api.etag.entidades.tamanho-maximo:100000}") long tamanhoMaximo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificar = notificar;
+        // sem notificações (uma instância só) os contadores locais bastam desde o início
+        this.sincronizado = !notificar;
+        this.versoesClientes = Caffeine.newBuilder().maximumSize(tamanhoMaximo).build();
+        this.versoesPedidos = Caffeine.newBuilder().maximumSize(tamanhoMaximo).build();
+    }
+
+    // ============================================================
+    // ETAGS
+    // ============================================================
+    public String etagClientes() {
+        conferirSincronia();
+        return "\"c" + epoca + "-" + colecaoClientes.get() + "\"";
+    }
+
+    public String etagPedidos() {
+        conferirSincronia();
+        return "\"p" + epoca + "-" + colecaoPedidos.get() + "\"";
+    }
+
+    public String etagCliente(UUID id) {
+        conferirSincronia();
+        return "\"c" + epoca + "-" + id + "-" + versoesClientes.get(id, k -> relogio.incrementAndGet()) + "\"";
+    }
+
+    public String etagPedido(UUID id) {
+        conferirSincronia();
+        return "\"p" + epoca + "-" + id + "-" + versoesPedidos.get(id, k -> relogio.incrementAndGet()) + "\"";
+    }
+
+    // ============================================================
+    // ALTERAÇÕES
+    // ============================================================
+    public void clienteCriado() {
+        registrar(new Alteracao(Tipo.CLIENTE_CRIADO, List.of(), List.of()));
+    }
+
+    // Dados cadastrais: os pedidos mostram o cliente, então eles também mudam
+    public void clienteAlterado(UUID id) {
+        registrar(new Alteracao(Tipo.CLIENTE_ALTERADO, List.of(), List.of(id)));
+    }
+
+    public void clienteRemovido(UUID id) {
+        clienteAlterado(id);
+    }
+
+    // O saldo do cliente aparece em /clientes, então um pedido alterado muda também o cliente
+    public void pedidoAlterado(UUID pedidoId, UUID clienteId) {
+        registrar(new Alteracao(Tipo.PEDIDOS, List.of(pedidoId), clienteId == null ? List.of() : List.of(clienteId)));
+    }
+
+    public void pedidosAlterados(Collection<UUID> pedidoIds, Collection<UUID> clienteIds) {
+        registrar(new Alteracao(Tipo.PEDIDOS, List.copyOf(pedidoIds), List.copyOf(clienteIds)));
+    }
+
+    public void saldosReconstruidos() {
+        registrar(new Alteracao(Tipo.SALDOS, List.of(), List.of()));
+    }
+
+    // ============================================================
+    // OUTRAS INSTÂNCIAS (NotificacoesVersoes)
+    // ============================================================
+    void receber(String payload) {
+        Alteracao alteracao = decodificar(payload);
+        if (alteracao != null) {
+            aplicar(alteracao);
+        }
+    }
+
+    // Escuta ativa: o que mudou enquanto ela estava fora não chegou, então nenhum ETag anterior vale
+    void escutaIniciada() {
+        aplicar(new Alteracao(Tipo.TUDO, List.of(), List.of()));
+        sincronizado = true;
+    }
+
+    void escutaInterrompida() {
+        sincronizado = false;
+    }
+
+    // ============================================================
+    // MÉTODOS AUXILIARES
+    // ============================================================
+    private void registrar(Alteracao alteracao) {
+        if (notificar) {
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> {}, CANAL, codificar(alteracao));
+        }
+        depoisDoCommit(() -> aplicar(alteracao));
+    }
+
+    private void aplicar(Alteracao alteracao) {
+        switch (alteracao.tipo()) {
+            case CLIENTE_CRIADO -> colecaoClientes.incrementAndGet();
+            case CLIENTE_ALTERADO -> {
+                colecaoClientes.incrementAndGet();
+                colecaoPedidos.incrementAndGet();
+                alteracao.clientes().forEach(id -> versoesClientes.put(id, relogio.incrementAndGet()));
+                // alteração de cliente é rara; não vale manter um índice cliente -> pedidos
+                versoesPedidos.invalidateAll();
+            }
+            case PEDIDOS -> {
+                colecaoPedidos.incrementAndGet();
+                colecaoClientes.incrementAndGet();
+                alteracao.pedidos().forEach(id -> versoesPedidos.put(id, relogio.incrementAndGet()));
+                alteracao.clientes().forEach(id -> versoesClientes.put(id, relogio.incrementAndGet()));
+            }
+            case SALDOS -> {
+                colecaoClientes.incrementAndGet();
+                versoesClientes.invalidateAll();
+            }
+            case TUDO -> {
+                colecaoClientes.incrementAndGet();
+                colecaoPedidos.incrementAndGet();
+                versoesClientes.invalidateAll();
+                versoesPedidos.invalidateAll();
+            }
+        }
+    }
+
+    private void conferirSincronia() {
+        if (!sincronizado) {
+            aplicar(new Alteracao(Tipo.TUDO, List.of(), List.of()));
+        }
+    }
+
+    // origem;tipo;pedidos separados por vírgula;clientes separados por vírgula
+    private String codificar(Alteracao alteracao) {
+        String payload = origem + ";" + alteracao.tipo() + ";" + String.join(",", texto(alteracao.pedidos()))
+                + ";" + String.join(",", texto(alteracao.clientes()));
+        return payload.length() <= MAXIMO_PAYLOAD ? payload : origem + ";" + Tipo.TUDO + ";;";
+    }
+
+    private Alteracao decodificar(String payload) {
+        String[] partes = payload.split(";", -1);
+        if (partes.length != 4 || partes[0].equals(origem)) {
+            return null;
+        }
+        return new Alteracao(Tipo.valueOf(partes[1]), ids(partes[2]), ids(partes[3]));
+    }
+
+    private static List<String> texto(Collection<UUID> ids) {
+        return ids.stream().map(UUID::toString).toList();
+    }
+
+    private static List<UUID> ids(String lista) {
+        List<UUID> ids = new ArrayList<>();
+        for (String id : lista.split(",")) {
+            if (!id.isEmpty()) ids.add(UUID.fromString(id));
+        }
+        return ids;
+    }
+
+    private static void depoisDoCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+-- Busca de pedidos por trecho do nome do cliente ou do produto (PedidoSpecifications.comClienteOuProduto):
+-- lower(coluna) like '%trecho%' não usa índice B-tree, só um GIN de trigramas sobre a mesma expressão.
+-- Correção do comentário da V2: idx_item_pedido_pedido_id serve só o carregamento dos itens por
+-- pedido_id, não a busca por nome de produto (a V2 não é editada para não mudar o checksum dela).
+-- pg_trgm é uma extensão "trusted": o dono do banco pode criá-la sem ser superusuário
+create extension if not exists pg_trgm;
+
+create index idx_clientes_name_trgm
+    on tb_clientes using gin (lower(name) gin_trgm_ops);
+
+create index idx_item_pedido_nome_produto_trgm
+    on item_pedido using gin (lower(nome_produto) gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Leitura incremental da lista de revogação a cada poucos segundos em cada instância
+-- (ListaRevogacao.atualizar): só as revogações mais novas que a última leitura
+create index idx_token_revogado_revogado_em
+    on token_revogado (revogado_em);
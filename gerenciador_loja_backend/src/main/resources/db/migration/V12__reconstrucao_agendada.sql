@@ -0,0 +1,10 @@
+-- Última execução de cada reconstrução agendada. O cron dispara em todas as instâncias; a que
+-- consegue avançar ultima_em (update condicional, atômico) é a única que reconstrói naquele horário,
+-- mesmo que outra instância dispare depois de a primeira já ter terminado
+create table reconstrucao_agendada (
+    nome      varchar(100) not null,
+    ultima_em timestamp(6) with time zone not null,
+    primary key (nome)
+);
+
+insert into reconstrucao_agendada (nome, ultima_em) values ('venda_diaria', '-infinity');
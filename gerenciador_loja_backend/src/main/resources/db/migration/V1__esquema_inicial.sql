@@ -0,0 +1,49 @@
+-- Esquema como o ddl-auto=update o criava a partir das entidades de antes das migrações:
+-- tabelas, chaves primárias e estrangeiras, com os valores em dinheiro ainda em float8.
+-- Bancos que já existiam recebem esta versão como baseline (spring.flyway.baseline-on-migrate)
+-- e as migrações seguintes levam os dois casos, banco novo e existente, ao esquema atual.
+
+create table tb_clientes (
+    id       uuid not null,
+    name     varchar(255),
+    telefone varchar(255),
+    email    varchar(255),
+    endereco varchar(255),
+    notas    varchar(255),
+    primary key (id)
+);
+
+create table pedido (
+    id                  uuid not null,
+    cliente_id          uuid,
+    data_criacao        timestamp(6),
+    valor_total         float(53),
+    parcelas_totais     integer,
+    parcelas_restantes  integer,
+    valor_parcelas      float(53) not null,
+    status_de_pagamento varchar(255) check (status_de_pagamento in ('PAGO', 'PENDENTE')),
+    primary key (id)
+);
+
+create table item_pedido (
+    id             uuid not null,
+    pedido_id      uuid,
+    nome_produto   varchar(255),
+    quantidade     integer,
+    preco_unitario float(53),
+    tamanho        varchar(255),
+    primary key (id)
+);
+
+create table tb_usuarios (
+    id       uuid not null,
+    username varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+alter table pedido
+    add constraint fk_pedido_cliente foreign key (cliente_id) references tb_clientes;
+
+alter table item_pedido
+    add constraint fk_item_pedido_pedido foreign key (pedido_id) references pedido;
@@ -0,0 +1,32 @@
+-- Índices escolhidos a partir das consultas dos repositórios, nas tabelas do esquema inicial.
+-- "if not exists" porque o ddl-auto=update já pode ter criado os que estavam declarados nas
+-- entidades. Os das tabelas e colunas novas ficam na migração que as cria.
+
+-- Pedidos de um cliente: join de PedidoSpecifications, Cliente.pedidos e a exclusão em
+-- cascata do cliente. Sem ele, cada um desses acessos varre a tabela de pedidos
+create index if not exists idx_pedido_cliente_id
+    on pedido (cliente_id);
+
+-- Paginação por keyset (findRecentes/findAntigos e os "Apos"), nos dois sentidos, e a exportação
+create index if not exists idx_pedido_data_criacao_id
+    on pedido (data_criacao, id);
+
+-- Busca filtrada por status com intervalo de datas (PedidoSpecifications) e contarPorStatus
+create index if not exists idx_pedido_status_data_criacao
+    on pedido (status_de_pagamento, data_criacao);
+
+-- Só os pedidos em aberto, com as colunas que a reconstrução de saldos lê (streamSaldosEmAberto):
+-- index-only scan que ignora os pedidos quitados, que são a maioria
+create index if not exists idx_pedido_em_aberto
+    on pedido (cliente_id) include (valor_total, parcelas_totais, parcelas_restantes)
+    where parcelas_restantes > 0;
+
+-- Itens de uma página de pedidos (@BatchSize em Pedido.itens) e a busca por nome de produto
+create index if not exists idx_item_pedido_pedido_id
+    on item_pedido (pedido_id);
+
+-- Login por username. A unicidade também fecha a corrida entre dois /auth/register
+-- simultâneos com o mesmo nome (o controller só checa antes de gravar).
+-- Falha se já houver usernames duplicados: eles precisam ser resolvidos antes
+alter table tb_usuarios
+    add constraint uk_usuarios_username unique (username);
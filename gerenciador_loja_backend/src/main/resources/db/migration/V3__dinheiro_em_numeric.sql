@@ -0,0 +1,10 @@
+-- Valores em dinheiro passam de float8 para numeric(12,2), como as entidades mapeiam
+-- (centavos em long, CentavosConverter). O ddl-auto=update nunca muda o tipo de uma
+-- coluna existente, então nos bancos com baseline na V1 elas ainda estão em float8.
+-- O float é arredondado para o centavo mais próximo: 33.629999999999995 vira 33.63.
+alter table pedido
+    alter column valor_total type numeric(12,2) using round(valor_total::numeric, 2),
+    alter column valor_parcelas type numeric(12,2) using round(valor_parcelas::numeric, 2);
+
+alter table item_pedido
+    alter column preco_unitario type numeric(12,2) using round(preco_unitario::numeric, 2);
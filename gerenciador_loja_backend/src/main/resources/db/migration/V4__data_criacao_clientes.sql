@@ -0,0 +1,4 @@
+-- Data de cadastro do cliente. Os clientes já existentes ficam sem ela (null), como o
+-- ddl-auto=update os deixava.
+alter table tb_clientes
+    add column data_criacao timestamp(6);
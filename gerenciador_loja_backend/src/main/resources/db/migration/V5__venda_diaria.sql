@@ -0,0 +1,16 @@
+-- Receita e quantidade de pedidos por dia de criação, base do /relatorios/vendas. Mantida
+-- incrementalmente a cada pedido gravado e reconstruída de madrugada a partir dos pedidos.
+create table venda_diaria (
+    dia                date not null,
+    receita            numeric(14,2) not null,
+    quantidade_pedidos bigint not null,
+    primary key (dia)
+);
+
+-- Dias que já têm pedidos, com a mesma agregação da reconstrução: sem isto o relatório
+-- ficaria vazio até a primeira reconstrução de madrugada
+insert into venda_diaria (dia, receita, quantidade_pedidos)
+select cast(p.data_criacao as date), coalesce(sum(p.valor_total), 0), count(*)
+  from pedido p
+ where p.data_criacao is not null
+ group by cast(p.data_criacao as date);
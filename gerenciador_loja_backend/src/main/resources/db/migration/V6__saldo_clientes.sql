@@ -0,0 +1,29 @@
+-- Saldo devedor e pedidos em aberto por cliente, mantidos a cada pedido e baixa de parcela.
+alter table tb_clientes
+    add column saldo_devedor     numeric(14,2) default 0 not null,
+    add column pedidos_em_aberto integer default 0 not null;
+
+-- Ranking de devedores: lido do maior saldo para o menor, parando no limite
+create index idx_clientes_saldo_devedor
+    on tb_clientes (saldo_devedor desc);
+
+-- Saldos dos pedidos já em aberto, com a conta de CalculadoraPedido.saldoDevedor em centavos
+-- (as últimas 'restantes' parcelas; as primeiras total % parcelas levam um centavo a mais).
+-- Sem isto o ranking ficaria vazio e cada baixa de parcela antiga deixaria o saldo negativo
+update tb_clientes c
+   set saldo_devedor = cast(s.saldo as numeric) / 100,
+       pedidos_em_aberto = s.abertos
+  from (select p.cliente_id,
+               sum(case when p.restantes >= p.parcelas then p.total
+                        else (p.total / p.parcelas) * p.restantes
+                             + greatest(0, p.total % p.parcelas - (p.parcelas - p.restantes))
+                   end) as saldo,
+               count(*) as abertos
+          from (select cliente_id,
+                       cast(round(coalesce(valor_total, 0) * 100) as bigint) as total,
+                       greatest(coalesce(parcelas_totais, 1), 1) as parcelas,
+                       parcelas_restantes as restantes
+                  from pedido
+                 where parcelas_restantes > 0 and cliente_id is not null) p
+         group by p.cliente_id) s
+ where c.id = s.cliente_id;
@@ -0,0 +1,3 @@
+-- Versão para o lock otimista de Pedido; a baixa atômica de parcelas também a incrementa.
+alter table pedido
+    add column versao bigint default 0 not null;
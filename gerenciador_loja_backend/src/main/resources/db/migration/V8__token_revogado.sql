@@ -0,0 +1,12 @@
+-- Tokens revogados (logout) e revogações de todos os tokens de um usuário ("usuario:<nome>"),
+-- guardados até o exp mais distante que o token revogado pode ter.
+create table token_revogado (
+    chave       varchar(200) not null,
+    expira_em   timestamp(6) with time zone not null,
+    revogado_em timestamp(6) with time zone not null,
+    primary key (chave)
+);
+
+-- Limpeza periódica das revogações expiradas
+create index idx_token_revogado_expira_em
+    on token_revogado (expira_em);
@@ -0,0 +1,7 @@
+-- Momento da última alteração cadastral do cliente, no relógio do banco. Cada instância relê
+-- periodicamente os clientes alterados desde a última leitura para atualizar o índice de busca
+-- (ClienteService.atualizarIndiceBusca). Os clientes já existentes recebem o momento da migração.
+alter table tb_clientes
+    add column atualizado_em timestamp(6) not null default current_timestamp;
+
+create index idx_clientes_atualizado_em on tb_clientes (atualizado_em);
@@ -2,8 +2,10 @@ package com.example.gerenciador_loja_backend;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 
 @SpringBootTest
+@Import(PostgresDeTeste.class)
 class GerenciadorLojaBackendApplicationTests {
 
 	@Test
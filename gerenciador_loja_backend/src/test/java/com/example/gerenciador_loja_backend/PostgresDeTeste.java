@@ -0,0 +1,20 @@
+package com.example.gerenciador_loja_backend;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// Sem DATASOURCE_URL no ambiente (CI), os testes sobem um PostgreSQL descartável via Testcontainers;
+// com ela definida, usam o banco apontado, como a aplicação
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresDeTeste {
+
+	@Bean
+	@ServiceConnection
+	@ConditionalOnExpression("'${DATASOURCE_URL:}'.isEmpty()")
+	PostgreSQLContainer<?> postgres() {
+		return new PostgreSQLContainer<>("postgres:15-alpine");
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.gerenciador_loja_backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LimiteConexoesDataSourceTests {
+
+	@Test
+	void devolveAPermissaoUmaVezSoNoClose() throws SQLException {
+		DataSource alvo = mock(DataSource.class);
+		Connection real = mock(Connection.class);
+		when(alvo.getConnection()).thenReturn(real);
+		LimiteConexoesDataSource limite = new LimiteConexoesDataSource(alvo, 2, Duration.ofMillis(50));
+
+		Connection primeira = limite.getConnection();
+		Connection segunda = limite.getConnection();
+		assertThat(limite.disponiveis()).isZero();
+
+		primeira.close();
+		primeira.close();
+		assertThat(limite.disponiveis()).isEqualTo(1);
+		verify(real, times(2)).close();
+
+		segunda.close();
+		assertThat(limite.disponiveis()).isEqualTo(2);
+	}
+
+	@Test
+	void falhaQuandoNaoHaPermissaoDentroDaEspera() throws SQLException {
+		DataSource alvo = mock(DataSource.class);
+		when(alvo.getConnection()).thenReturn(mock(Connection.class));
+		LimiteConexoesDataSource limite = new LimiteConexoesDataSource(alvo, 1, Duration.ofMillis(20));
+
+		limite.getConnection();
+
+		assertThatThrownBy(limite::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+	}
+
+	@Test
+	void devolveAPermissaoQuandoOPoolFalha() throws SQLException {
+		DataSource alvo = mock(DataSource.class);
+		when(alvo.getConnection()).thenThrow(new SQLException("pool esgotado"));
+		LimiteConexoesDataSource limite = new LimiteConexoesDataSource(alvo, 1, Duration.ofMillis(20));
+
+		assertThatThrownBy(limite::getConnection).hasMessage("pool esgotado");
+		assertThat(limite.disponiveis()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,47 @@
+package com.example.gerenciador_loja_backend.monitoramento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsultasDaRequisicaoTests {
+
+	private final ContadorSqlInspector inspector = new ContadorSqlInspector();
+
+	@AfterEach
+	void encerrar() {
+		ConsultasDaRequisicao.encerrar();
+	}
+
+	@Test
+	void agrupaOsStatementsDeUmNMaisUmNaMesmaForma() {
+		ConsultasDaRequisicao consultas = ConsultasDaRequisicao.iniciar();
+
+		inspector.inspect("select p.id from pedido p");
+		for (int i = 0; i < 3; i++) {
+			inspector.inspect("select i.id,  i.nome_produto\n from item_pedido i where i.pedido_id=?");
+		}
+		inspector.inspect("select c.id from cliente c where c.id in (?, ?, ?)");
+		inspector.inspect("select c.id from cliente c where c.id in (?,?)");
+
+		assertThat(consultas.consultas()).isEqualTo(6);
+		assertThat(consultas.repetidas()).containsExactly(
+				Map.entry("select i.id, i.nome_produto from item_pedido i where i.pedido_id=?", 3),
+				Map.entry("select c.id from cliente c where c.id in (?...)", 2));
+	}
+
+	@Test
+	void foraDeUmaRequisicaoNadaEContado() {
+		assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+		assertThat(ConsultasDaRequisicao.atual()).isNull();
+	}
+
+	@Test
+	void literaisViramParametros() {
+		assertThat(ConsultasDaRequisicao.forma("update pedido set status = 'PAGO' where versao = 3"))
+				.isEqualTo("update pedido set status = ? where versao = ?");
+	}
+}
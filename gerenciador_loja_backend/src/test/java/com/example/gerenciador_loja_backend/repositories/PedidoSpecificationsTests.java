@@ -0,0 +1,14 @@
+package com.example.gerenciador_loja_backend.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PedidoSpecificationsTests {
+
+	@Test
+	void curingasDoLikeViramTextoLiteral() {
+		assertThat(PedidoSpecifications.escaparLike("50%_off\\x")).isEqualTo("50\\%\\_off\\\\x");
+		assertThat(PedidoSpecifications.escaparLike("camiseta")).isEqualTo("camiseta");
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.gerenciador_loja_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroBloomTests {
+
+	@Test
+	void semFalsoNegativoEFalsosPositivosPertoDaTaxaPedida() {
+		FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+		String[] adicionadas = new String[10_000];
+		for (int i = 0; i < adicionadas.length; i++) {
+			adicionadas[i] = UUID.randomUUID().toString();
+			filtro.adicionar(adicionadas[i]);
+		}
+
+		for (String chave : adicionadas) {
+			assertThat(filtro.talvezContenha(chave)).isTrue();
+		}
+
+		int falsosPositivos = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filtro.talvezContenha(UUID.randomUUID().toString())) falsosPositivos++;
+		}
+		// 1% pedido; folga para a variação entre execuções
+		assertThat(falsosPositivos).isLessThan(2_000);
+	}
+}
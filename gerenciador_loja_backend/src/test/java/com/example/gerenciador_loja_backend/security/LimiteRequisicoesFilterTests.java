@@ -0,0 +1,75 @@
+package com.example.gerenciador_loja_backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteRequisicoesFilterTests {
+
+	private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+	private final LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(new SimpleMeterRegistry(), true,
+			20, Duration.ofMinutes(1), 10, 20, Duration.ofSeconds(1), 40, 10, Duration.ofSeconds(1), 20);
+
+	@Test
+	void liberaARajadaERecusaComOTempoAteOProximoToken() {
+		// 10 por segundo, rajada de 5
+		LimiteRequisicoesFilter.Limite limite = LimiteRequisicoesFilter.Limite.de(10, Duration.ofSeconds(1), 5);
+		long agora = 1_000 * SEGUNDO;
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(filtro.consumir("c", limite, agora)).isZero();
+		}
+		assertThat(filtro.consumir("c", limite, agora)).isEqualTo(SEGUNDO / 10);
+
+		// 100 ms depois voltou exatamente um token
+		assertThat(filtro.consumir("c", limite, agora + SEGUNDO / 10)).isZero();
+		assertThat(filtro.consumir("c", limite, agora + SEGUNDO / 10)).isPositive();
+
+		// outro cliente tem o próprio balde
+		assertThat(filtro.consumir("outro", limite, agora)).isZero();
+	}
+
+	@Test
+	void concorrenciaNaoLiberaMaisQueARajada() throws Exception {
+		LimiteRequisicoesFilter.Limite limite = LimiteRequisicoesFilter.Limite.de(1, Duration.ofHours(1), 50);
+		long agora = System.nanoTime();
+		AtomicInteger liberadas = new AtomicInteger();
+		ExecutorService threads = Executors.newFixedThreadPool(8);
+		CountDownLatch largada = new CountDownLatch(1);
+
+		for (int t = 0; t < 8; t++) {
+			threads.submit(() -> {
+				largada.await();
+				for (int i = 0; i < 100; i++) {
+					if (filtro.consumir("c", limite, agora) == 0) liberadas.incrementAndGet();
+				}
+				return null;
+			});
+		}
+		largada.countDown();
+		threads.shutdown();
+		assertThat(threads.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(liberadas.get()).isEqualTo(50);
+	}
+
+	@Test
+	void removeSoOsBaldesJaCheios() {
+		LimiteRequisicoesFilter.Limite limite = LimiteRequisicoesFilter.Limite.de(1, Duration.ofHours(1), 2);
+		filtro.consumir("ocioso", limite, System.nanoTime() - 2 * 3600 * SEGUNDO);
+		filtro.consumir("ativo", limite, System.nanoTime());
+
+		filtro.removerOciosos();
+
+		assertThat(filtro.baldesAtivos()).isEqualTo(1);
+	}
+}
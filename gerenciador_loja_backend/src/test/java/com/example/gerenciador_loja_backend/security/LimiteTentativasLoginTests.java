@@ -0,0 +1,51 @@
+package com.example.gerenciador_loja_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteTentativasLoginTests {
+
+	private final AtomicLong agora = new AtomicLong();
+
+	// 3 por par, 10 por usuário, 100 por IP, janela de 15 min
+	private final LimiteTentativasLogin limite = new LimiteTentativasLogin(3, 10, 100, Duration.ofMinutes(15), agora::get);
+
+	@Test
+	void falhasDeUmIpNaoTrancamOUsuarioEmOutroIp() {
+		for (int i = 0; i < 3; i++) limite.registrarFalha("Maria", "10.0.0.1");
+
+		assertThat(limite.bloqueio("maria", "10.0.0.1")).isPresent();
+		assertThat(limite.bloqueio("maria", "10.0.0.2")).isEmpty();
+	}
+
+	@Test
+	void tetoPorUsuarioSomaTodosOsIps() {
+		for (int i = 0; i < 10; i++) limite.registrarFalha("maria", "10.0.1." + i);
+
+		assertThat(limite.bloqueio("maria", "10.0.2.1")).isPresent();
+		assertThat(limite.bloqueio("joao", "10.0.2.1")).isEmpty();
+
+		// login certo zera o par, não o teto por usuário
+		limite.registrarSucesso("maria", "10.0.2.1");
+		assertThat(limite.bloqueio("maria", "10.0.2.1")).isPresent();
+	}
+
+	@Test
+	void esperaEOQueFaltaDaJanelaDaUltimaFalha() {
+		for (int i = 0; i < 3; i++) limite.registrarFalha("maria", "10.0.0.1");
+		avancar(Duration.ofMinutes(10));
+
+		assertThat(limite.bloqueio("maria", "10.0.0.1")).contains(Duration.ofMinutes(5));
+
+		avancar(Duration.ofMinutes(5));
+		assertThat(limite.bloqueio("maria", "10.0.0.1")).isEmpty();
+	}
+
+	private void avancar(Duration tempo) {
+		agora.addAndGet(tempo.toNanos());
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.gerenciador_loja_backend.security;
+
+import com.example.gerenciador_loja_backend.models.TokenRevogado;
+import com.example.gerenciador_loja_backend.repositories.TokenRevogadoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ListaRevogacaoTests {
+
+	private final TokenRevogadoRepository repositorio = mock(TokenRevogadoRepository.class);
+	private final ListaRevogacao lista = new ListaRevogacao(repositorio, new TokenCache(100, Duration.ofMinutes(10)), Duration.ofMinutes(1));
+
+	@Test
+	void revogacaoDeOutraInstanciaEntraNaLeituraIncremental() {
+		when(repositorio.listarChaves()).thenReturn(List.of());
+		lista.reconstruir();
+		long versao = lista.versao();
+		assertThat(lista.revogado("jti-1", "maria", Instant.now())).isFalse();
+
+		TokenRevogado outra = new TokenRevogado("jti-1", Instant.now().plusSeconds(3600), Instant.now());
+		when(repositorio.findByRevogadoEmAfter(any())).thenReturn(List.of(outra));
+		when(repositorio.existsById("jti-1")).thenReturn(true);
+		lista.atualizar();
+
+		assertThat(lista.versao()).isGreaterThan(versao);
+		assertThat(lista.revogado("jti-1", "maria", Instant.now())).isTrue();
+	}
+
+	@Test
+	void chaveRelidaNaSobreposicaoNaoMudaAVersao() {
+		when(repositorio.listarChaves()).thenReturn(List.of());
+		lista.reconstruir();
+		TokenRevogado outra = new TokenRevogado("jti-2", Instant.now().plusSeconds(3600), Instant.now());
+		when(repositorio.findByRevogadoEmAfter(any())).thenReturn(List.of(outra));
+		lista.atualizar();
+		long versao = lista.versao();
+
+		lista.atualizar();
+
+		assertThat(lista.versao()).isEqualTo(versao);
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.gerenciador_loja_backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SenhaServiceTests {
+
+	@Test
+	void refazOHashQuandoOCustoConfiguradoMuda() {
+		String hashAntigo = new BCryptPasswordEncoder(4).encode("segredo");
+		SenhaService senhas = new SenhaService(new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 5, 1, 4, Duration.ofSeconds(5));
+
+		SenhaService.Conferencia conferencia = senhas.conferir("segredo", hashAntigo);
+
+		assertThat(conferencia.confere()).isTrue();
+		assertThat(SenhaService.custoDoHash(conferencia.rehash())).isEqualTo(5);
+		assertThat(senhas.conferir("segredo", conferencia.rehash()).rehash()).isNull();
+		assertThat(senhas.conferir("errada", hashAntigo)).isEqualTo(new SenhaService.Conferencia(false, null));
+	}
+
+	@Test
+	void recusaNaHoraQuandoAFilaEstaCheia() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		CountDownLatch ocupado = new CountDownLatch(1);
+		PasswordEncoder lento = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence senha) {
+				ocupado.countDown();
+				try {
+					liberar.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return "hash";
+			}
+
+			@Override
+			public boolean matches(CharSequence senha, String hash) {
+				return false;
+			}
+		};
+		SenhaService senhas = new SenhaService(lento, new SimpleMeterRegistry(), 10, 1, 1, Duration.ofSeconds(5));
+
+		CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> senhas.codificar("a"));
+		ocupado.await(5, TimeUnit.SECONDS);
+		CompletableFuture<String> segunda = CompletableFuture.supplyAsync(() -> senhas.codificar("b"));
+		while (senhas.naFila() == 0) {
+			Thread.onSpinWait();
+		}
+
+		assertThatThrownBy(() -> senhas.codificar("c")).isInstanceOf(RejectedExecutionException.class);
+
+		liberar.countDown();
+		assertThat(primeira.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+		assertThat(segunda.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+		senhas.encerrar();
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalculadoraPedidoTests {
+
+	@Test
+	void somaItensEmCentavosSemErroDeArredondamento() {
+		Pedido pedido = new Pedido();
+		pedido.addItem(item(10, 3));   // 0,10 x 3
+		pedido.addItem(item(20, 1));   // 0,20 x 1
+		pedido.setParcelasTotais(1);
+
+		CalculadoraPedido.calcularValorTotal(pedido);
+
+		// em double, 0.1 * 3 + 0.2 = 0.5000000000000001
+		assertThat(pedido.getValorTotalCentavos()).isEqualTo(50L);
+	}
+
+	@Test
+	void distribuiOsCentavosDoRestoNasPrimeirasParcelas() {
+		Pedido pedido = new Pedido();
+		pedido.addItem(item(1000, 1));
+		pedido.setParcelasTotais(3);
+
+		CalculadoraPedido.calcularValorTotal(pedido);
+		CalculadoraPedido.calcularValorParcela(pedido);
+
+		assertThat(pedido.getValorParcelasCentavos()).isEqualTo(334L);
+		assertThat(CalculadoraPedido.valorDaParcela(1000, 3, 2)).isEqualTo(333L);
+		assertThat(CalculadoraPedido.valorDaParcela(1000, 3, 3)).isEqualTo(333L);
+	}
+
+	@Test
+	void saldoDevedorSomaAsParcelasQueFaltam() {
+		// 1001 em 3 parcelas: 334 + 334 + 333
+		assertThat(CalculadoraPedido.saldoDevedor(1001, 3, 3)).isEqualTo(1001L);
+		assertThat(CalculadoraPedido.saldoDevedor(1001, 3, 2)).isEqualTo(667L);
+		assertThat(CalculadoraPedido.saldoDevedor(1001, 3, 1)).isEqualTo(333L);
+		assertThat(CalculadoraPedido.saldoDevedor(1001, 3, 0)).isZero();
+	}
+
+	private static ItemPedido item(long precoCentavos, int quantidade) {
+		ItemPedido item = new ItemPedido();
+		item.setPrecoUnitarioCentavos(precoCentavos);
+		item.setQuantidade(quantidade);
+		return item;
+	}
+}
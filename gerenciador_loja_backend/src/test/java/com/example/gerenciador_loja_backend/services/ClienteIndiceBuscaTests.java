@@ -0,0 +1,97 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.dtos.ClienteFiltroRequest;
+import com.example.gerenciador_loja_backend.enuns.OrdemPedido;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClienteIndiceBuscaTests {
+
+	private final ClienteIndiceBusca indice = new ClienteIndiceBusca();
+
+	// a busca devolve ids; os nomes vêm dos clientes criados no teste
+	private final Map<UUID, Cliente> clientes = new HashMap<>();
+
+	@Test
+	void encontraSubstringIgnorandoAcentoECaixa() {
+		indice.reconstruir(List.of(
+				cliente("José Conceição", "jose@loja.com", LocalDateTime.of(2024, 1, 10, 9, 0)),
+				cliente("Maria Souza", "maria@loja.com", LocalDateTime.of(2024, 2, 10, 9, 0))
+		));
+
+		assertThat(nomes(filtro("CONCEICAO", null, null, null))).containsExactly("José Conceição");
+		assertThat(nomes(filtro("sé", null, null, null))).containsExactly("José Conceição");
+		assertThat(nomes(filtro("xyz", null, null, null))).isEmpty();
+	}
+
+	@Test
+	void combinaCamposDataEOrdenacao() {
+		indice.reconstruir(List.of(
+				cliente("Ana Lima", "ana@loja.com", LocalDateTime.of(2024, 1, 10, 9, 0)),
+				cliente("Ana Paula", "paula@loja.com", LocalDateTime.of(2024, 3, 10, 9, 0)),
+				cliente("Ana Beatriz", "bia@outra.com", LocalDateTime.of(2024, 5, 10, 9, 0))
+		));
+
+		assertThat(nomes(filtro("ana", "loja", null, OrdemPedido.ANTIGO)))
+				.containsExactly("Ana Lima", "Ana Paula");
+		assertThat(nomes(filtro("ana", null, LocalDate.of(2024, 3, 10), null)))
+				.containsExactly("Ana Beatriz", "Ana Paula");
+	}
+
+	@Test
+	void acompanhaAtualizacaoERemocao() {
+		Cliente cliente = cliente("Carlos", "carlos@loja.com", LocalDateTime.now());
+		indice.indexar(cliente);
+
+		cliente.setName("Roberto");
+		indice.indexar(cliente);
+		assertThat(nomes(filtro("carlos", null, null, null))).isEmpty();
+		assertThat(nomes(filtro("robert", null, null, null))).containsExactly("Roberto");
+
+		indice.remover(cliente.getId());
+		assertThat(nomes(filtro("robert", null, null, null))).isEmpty();
+		assertThat(indice.tamanho()).isZero();
+	}
+
+	@Test
+	void removeAusentesSoAteAMarca() {
+		Cliente antigo = cliente("Antigo", null, LocalDateTime.now());
+		indice.reconstruir(List.of(antigo));
+		long marca = indice.marca();
+
+		// indexado depois da leitura dos ids: não pode sair por não estar na lista
+		Cliente novo = cliente("Novo", null, LocalDateTime.now());
+		indice.indexar(novo);
+
+		indice.removerAusentes(Set.of(), marca);
+		assertThat(nomes(filtro(null, null, null, null))).containsExactly("Novo");
+	}
+
+	private List<String> nomes(ClienteFiltroRequest filtro) {
+		return indice.buscar(filtro).stream().map(id -> clientes.get(id).getName()).toList();
+	}
+
+	private static ClienteFiltroRequest filtro(String nome, String email, LocalDate dataInicial, OrdemPedido ordem) {
+		return new ClienteFiltroRequest(nome, email, null, null, null, dataInicial, null, ordem);
+	}
+
+	private Cliente cliente(String nome, String email, LocalDateTime dataCriacao) {
+		Cliente cliente = new Cliente();
+		cliente.setId(UUID.randomUUID());
+		cliente.setName(nome);
+		cliente.setEmail(email);
+		cliente.setDataCriacao(dataCriacao);
+		clientes.put(cliente.getId(), cliente);
+		return cliente;
+	}
+}
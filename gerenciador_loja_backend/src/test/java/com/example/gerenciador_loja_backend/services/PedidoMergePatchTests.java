@@ -0,0 +1,75 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PedidoMergePatchTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void alteraRemoveECriaItensPeloId() throws Exception {
+		Pedido pedido = pedido();
+		ItemPedido camisa = item(pedido, "Camisa", 5000, 1);
+		ItemPedido bone = item(pedido, "Boné", 2000, 1);
+
+		PedidoMergePatch.Resultado resultado = PedidoMergePatch.aplicar(pedido, objectMapper.readTree("""
+				{"itens": {
+				    "%s": {"quantidade": 2},
+				    "%s": null,
+				    "novo": {"nome": "Meia", "preco": "9.90", "quantidade": 3}
+				}}
+				""".formatted(camisa.getId(), bone.getId())));
+
+		assertThat(resultado.itensAlterados()).isTrue();
+		assertThat(pedido.getItens()).extracting(ItemPedido::getNomeProduto).containsExactly("Camisa", "Meia");
+		assertThat(camisa.getQuantidade()).isEqualTo(2);
+		assertThat(pedido.getItens().get(1).getPrecoUnitarioCentavos()).isEqualTo(990L);
+	}
+
+	@Test
+	void valoresIguaisNaoContamComoAlteracao() throws Exception {
+		Pedido pedido = pedido();
+		ItemPedido camisa = item(pedido, "Camisa", 5000, 1);
+
+		PedidoMergePatch.Resultado resultado = PedidoMergePatch.aplicar(pedido, objectMapper.readTree("""
+				{"parcelasTotais": 3, "itens": {"%s": {"preco": 50.00, "nome": "Camisa"}}}
+				""".formatted(camisa.getId())));
+
+		assertThat(resultado.alterou()).isFalse();
+	}
+
+	@Test
+	void recusaReduzirParcelasECamposDesconhecidos() {
+		Pedido pedido = pedido();
+
+		assertThatThrownBy(() -> PedidoMergePatch.aplicar(pedido, objectMapper.readTree("{\"parcelasTotais\": 2}")))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PedidoMergePatch.aplicar(pedido, objectMapper.readTree("{\"valorTotal\": 1}")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Pedido pedido() {
+		Pedido pedido = new Pedido();
+		pedido.setParcelasTotais(3);
+		pedido.setParcelasRestantes(3);
+		return pedido;
+	}
+
+	private static ItemPedido item(Pedido pedido, String nome, long precoCentavos, int quantidade) {
+		ItemPedido item = new ItemPedido();
+		item.setId(UUID.randomUUID());
+		item.setNomeProduto(nome);
+		item.setPrecoUnitarioCentavos(precoCentavos);
+		item.setQuantidade(quantidade);
+		pedido.addItem(item);
+		return item;
+	}
+}
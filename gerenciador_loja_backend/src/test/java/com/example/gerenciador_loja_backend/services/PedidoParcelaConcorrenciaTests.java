@@ -0,0 +1,119 @@
+package com.example.gerenciador_loja_backend.services;
+
+import com.example.gerenciador_loja_backend.PostgresDeTeste;
+import com.example.gerenciador_loja_backend.dtos.ClienteDto;
+import com.example.gerenciador_loja_backend.dtos.ItemPedidoDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoDto;
+import com.example.gerenciador_loja_backend.dtos.PedidoResponseDto;
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.repositories.ClienteRepository;
+import com.example.gerenciador_loja_backend.repositories.PedidoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Precisa de um PostgreSQL de verdade: o de DATASOURCE_URL ou, sem ela, um container (PostgresDeTeste)
+@SpringBootTest
+@Import(PostgresDeTeste.class)
+class PedidoParcelaConcorrenciaTests {
+
+	private static final int PARCELAS = 50;
+	private static final int THREADS = 8;
+	private static final int TENTATIVAS_POR_THREAD = 20;
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private PedidoRepository pedidoRepository;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	private Cliente cliente;
+
+	@AfterEach
+	void limpar() {
+		if (cliente != null) {
+			clienteService.deletarCliente(cliente.getId());
+		}
+	}
+
+	@Test
+	void baixasSimultaneasNaoSePerdemNemPassamDoTotal() throws Exception {
+		cliente = clienteService.criarCliente(new ClienteDto("Concorrência", null, null, null, null));
+		PedidoDto dto = new PedidoDto(cliente.getId(),
+				List.of(new ItemPedidoDto(null, "Produto", 1001L, null, 1)), null, PARCELAS, null, null);
+		PedidoResponseDto pedido = (PedidoResponseDto) pedidoService.criarPedido(dto).getBody();
+
+		AtomicInteger baixas = new AtomicInteger();
+		AtomicInteger recusadas = new AtomicInteger();
+		CountDownLatch largada = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			tarefas.add(executor.submit(() -> {
+				largada.await();
+				for (int i = 0; i < TENTATIVAS_POR_THREAD; i++) {
+					HttpStatus status = HttpStatus.valueOf(pedidoService.diminuirParcela(pedido.id()).getStatusCode().value());
+					if (status == HttpStatus.OK) baixas.incrementAndGet();
+					else if (status == HttpStatus.BAD_REQUEST) recusadas.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		largada.countDown();
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get(1, TimeUnit.MINUTES);
+		}
+		executor.shutdown();
+
+		assertThat(baixas.get()).isEqualTo(PARCELAS);
+		assertThat(recusadas.get()).isEqualTo(THREADS * TENTATIVAS_POR_THREAD - PARCELAS);
+
+		Pedido atualizado = pedidoRepository.findById(pedido.id()).orElseThrow();
+		assertThat(atualizado.getParcelasRestantes()).isZero();
+		assertThat(atualizado.getStatusDePagamento()).isEqualTo(StatusDePagamento.PAGO);
+		assertThat(atualizado.getVersao()).isEqualTo(PARCELAS);
+
+		Cliente saldo = clienteRepository.findById(cliente.getId()).orElseThrow();
+		assertThat(saldo.getSaldoDevedorCentavos()).isZero();
+		assertThat(saldo.getPedidosEmAberto()).isZero();
+	}
+
+	@Test
+	void edicaoSobreVersaoAntigaDaConflitoSemAlterarOPedido() {
+		cliente = clienteService.criarCliente(new ClienteDto("Edição", null, null, null, null));
+		PedidoResponseDto lido = (PedidoResponseDto) pedidoService.criarPedido(new PedidoDto(cliente.getId(),
+				List.of(new ItemPedidoDto(null, "Produto", 1000L, null, 1)), null, 4, null, null)).getBody();
+
+		// outra operação grava o pedido depois da leitura
+		pedidoService.diminuirParcela(lido.id());
+
+		PedidoDto edicao = new PedidoDto(null, null, null, null, 4, lido.versao());
+		assertThat(pedidoService.editPedido(lido.id(), edicao).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(pedidoRepository.findById(lido.id()).orElseThrow().getParcelasRestantes()).isEqualTo(3);
+
+		PedidoDto atual = new PedidoDto(null, null, null, null, 4, lido.versao() + 1);
+		assertThat(pedidoService.editPedido(lido.id(), atual).getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+}
@@ -0,0 +1,38 @@
+package com.example.gerenciador_loja_backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersoesRecursosTests {
+
+	// sem JdbcTemplate: só o lado de quem recebe as notificações
+	private final VersoesRecursos versoes = new VersoesRecursos(null, false, 1000);
+
+	@Test
+	void alteracaoDeOutraInstanciaMudaOsEtags() {
+		UUID pedido = UUID.randomUUID();
+		UUID cliente = UUID.randomUUID();
+		UUID intacto = UUID.randomUUID();
+		String lista = versoes.etagPedidos();
+		String item = versoes.etagPedido(pedido);
+		String outro = versoes.etagPedido(intacto);
+
+		versoes.receber("outra-instancia;PEDIDOS;" + pedido + ";" + cliente);
+
+		assertThat(versoes.etagPedidos()).isNotEqualTo(lista);
+		assertThat(versoes.etagPedido(pedido)).isNotEqualTo(item);
+		assertThat(versoes.etagPedido(intacto)).isEqualTo(outro);
+	}
+
+	@Test
+	void semEscutaNenhumEtagSeRepete() {
+		versoes.escutaInterrompida();
+		assertThat(versoes.etagClientes()).isNotEqualTo(versoes.etagClientes());
+
+		versoes.escutaIniciada();
+		assertThat(versoes.etagClientes()).isEqualTo(versoes.etagClientes());
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Igual ao org.openjdk.jmh.Main, mas grava o resultado em JSON por padrão para comparar versões
+public class BenchmarkRunner {
+
+    private static final String RESULTADO_PADRAO = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+
+        if (linhaDeComando.shouldHelp()) {
+            linhaDeComando.showHelp();
+            return;
+        }
+        if (linhaDeComando.shouldList()) {
+            new Runner(linhaDeComando).list();
+            return;
+        }
+
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaDeComando);
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            opcoes.result(RESULTADO_PADRAO);
+        }
+
+        new Runner(opcoes.build()).run();
+    }
+}
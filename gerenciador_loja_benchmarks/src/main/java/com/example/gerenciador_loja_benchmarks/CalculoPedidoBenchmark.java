@@ -0,0 +1,44 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.services.CalculadoraPedido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cálculo de valor total e de parcela usado por PedidoService.criarPedido/editPedido
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculoPedidoBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int quantidadeItens;
+
+    private Pedido pedido;
+
+    @Setup
+    public void setup() {
+        pedido = Fixtures.pedido(quantidadeItens);
+    }
+
+    @Benchmark
+    public Pedido calcularTotalEParcela() {
+        CalculadoraPedido.calcularValorTotal(pedido);
+        CalculadoraPedido.calcularValorParcela(pedido);
+        return pedido;
+    }
+}
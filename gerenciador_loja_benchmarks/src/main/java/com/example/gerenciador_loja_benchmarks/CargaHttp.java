@@ -0,0 +1,117 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga em malha fechada contra um backend já no ar, para comparar o
+ * modo padrão (threads de plataforma) com o perfil threads-virtuais.
+ * <p>
+ * Cada cliente virtual faz login uma vez e repete GETs sem pausa durante a
+ * duração pedida; ao final imprime vazão, latências (p50/p95/p99/máx) e erros.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.gerenciador_loja_benchmarks.CargaHttp \
+ *     http://localhost:8080 usuario senha 400 30 /pedidos /clientes
+ * </pre>
+ */
+public class CargaHttp {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("uso: CargaHttp <baseUrl> <usuario> <senha> <clientes> <segundos> [caminhos...]");
+            System.exit(2);
+        }
+        String base = args[0];
+        int clientes = Integer.parseInt(args[3]);
+        Duration duracao = Duration.ofSeconds(Long.parseLong(args[4]));
+        List<String> caminhos = args.length > 5
+                ? Arrays.asList(args).subList(5, args.length)
+                : List.of("/pedidos", "/clientes");
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String token = login(http, base, args[1], args[2]);
+
+        AtomicLong erros = new AtomicLong();
+        // cada cliente só escreve no seu próprio índice; a leitura vem depois do await
+        long[][] latenciasPorCliente = new long[clientes][];
+        CountDownLatch fim = new CountDownLatch(clientes);
+        long termino = System.nanoTime() + duracao.toNanos();
+
+        for (int c = 0; c < clientes; c++) {
+            int cliente = c;
+            Thread thread = new Thread(() -> {
+                int n = 0;
+                long[] minhas = new long[1 << 12];
+                try {
+                    while (System.nanoTime() < termino) {
+                        String caminho = caminhos.get(n % caminhos.size());
+                        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + caminho))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET().build();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 400) erros.incrementAndGet();
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        if (n == minhas.length) {
+                            minhas = Arrays.copyOf(minhas, n * 2);
+                        }
+                        minhas[n++] = System.nanoTime() - inicio;
+                    }
+                } finally {
+                    latenciasPorCliente[cliente] = Arrays.copyOf(minhas, n);
+                    fim.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        fim.await();
+
+        long[] todas = Arrays.stream(latenciasPorCliente).flatMapToLong(Arrays::stream).sorted().toArray();
+        int total = todas.length;
+
+        System.out.printf("clientes=%d duracao=%ds requisicoes=%d erros=%d vazao=%.1f req/s%n",
+                clientes, duracao.toSeconds(), total, erros.get(), total / (double) duracao.toSeconds());
+        System.out.printf("latencia ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                ms(percentil(todas, 50)), ms(percentil(todas, 95)), ms(percentil(todas, 99)),
+                ms(total == 0 ? 0 : todas[total - 1]));
+    }
+
+    static String login(HttpClient http, String base, String usuario, String senha) throws Exception {
+        String corpo = "{\"username\":\"" + usuario + "\",\"password\":\"" + senha + "\"}";
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+        String resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher token = TOKEN.matcher(resposta);
+        if (!token.find()) {
+            throw new IllegalStateException("Login falhou: " + resposta);
+        }
+        return token.group(1);
+    }
+
+    static long percentil(long[] ordenadas, int p) {
+        if (ordenadas.length == 0) return 0;
+        return ordenadas[Math.min(ordenadas.length - 1, (int) Math.ceil(p / 100.0 * ordenadas.length) - 1)];
+    }
+
+    static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import com.example.gerenciador_loja_backend.enuns.StatusDePagamento;
+import com.example.gerenciador_loja_backend.models.Cliente;
+import com.example.gerenciador_loja_backend.models.ItemPedido;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.example.gerenciador_loja_backend.services.CalculadoraPedido;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Grafos de Pedido montados em memória, com ids preenchidos como se viessem do banco
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Cliente cliente() {
+        Cliente cliente = new Cliente();
+        cliente.setId(UUID.randomUUID());
+        cliente.setName("Maria da Conceição");
+        cliente.setTelefone("(11) 98765-4321");
+        cliente.setEmail("maria@example.com");
+        cliente.setEndereco("Rua das Flores, 123 - Centro");
+        cliente.setNotas("Prefere contato por WhatsApp");
+        cliente.setDataCriacao(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return cliente;
+    }
+
+    static Pedido pedido(int quantidadeItens) {
+        Pedido pedido = new Pedido();
+        pedido.setId(UUID.randomUUID());
+        pedido.setCliente(cliente());
+        pedido.setParcelasTotais(3);
+        pedido.setParcelasRestantes(3);
+        pedido.setStatusDePagamento(StatusDePagamento.PENDENTE);
+
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemPedido item = new ItemPedido();
+            item.setId(UUID.randomUUID());
+            item.setNomeProduto("Camiseta " + i);
+            item.setQuantidade(1 + i % 3);
+            item.setPrecoUnitarioCentavos(4990 + i * 100L);
+            item.setTamanho("M");
+            pedido.addItem(item);
+        }
+
+        CalculadoraPedido.calcularValorTotal(pedido);
+        CalculadoraPedido.calcularValorParcela(pedido);
+        return pedido;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import com.example.gerenciador_loja_backend.controllers.LinkPorId;
+import com.example.gerenciador_loja_backend.controllers.PedidoController;
+import com.example.gerenciador_loja_backend.dtos.PedidoResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Montagem de EntityModel + link self por pedido, como em PedidoController.listarPedidos
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HateoasBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int quantidadePedidos;
+
+    private List<PedidoResponseDto> pedidos;
+
+    private final LinkPorId linkPedido = new LinkPorId(id -> methodOn(PedidoController.class).buscarPedido(id));
+
+    @Setup
+    public void setup() {
+        pedidos = IntStream.range(0, quantidadePedidos)
+                .mapToObj(i -> PedidoResponseDto.de(Fixtures.pedido(3)))
+                .toList();
+
+        // linkTo(...) monta a URI a partir da requisição corrente
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pedidos");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<PedidoResponseDto>> envolverComLinks() {
+        List<EntityModel<PedidoResponseDto>> pedidoModels = pedidos.stream()
+                .map(pedido -> EntityModel.of(
+                        pedido,
+                        linkTo(methodOn(PedidoController.class).buscarPedido(pedido.id())).withSelfRel()
+                ))
+                .toList();
+
+        return CollectionModel.of(pedidoModels);
+    }
+
+    // Como os controllers fazem agora: um linkTo por requisição, o resto é concatenação
+    @Benchmark
+    public CollectionModel<EntityModel<PedidoResponseDto>> envolverComLinkPorId() {
+        // cada invocação é uma requisição nova: o molde guardado na anterior não vale
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest("GET", "/pedidos")));
+
+        List<EntityModel<PedidoResponseDto>> pedidoModels = pedidos.stream()
+                .map(pedido -> EntityModel.of(pedido, linkPedido.self(pedido.id())))
+                .toList();
+
+        return CollectionModel.of(pedidoModels);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede a subida de uma instância nova do backend: sobe o processo, espera o
+ * readiness e aplica carga em malha fechada, como um balanceador faria com
+ * uma instância recém-adicionada.
+ * <p>
+ * Imprime o tempo até o readiness ficar UP, o tempo até a primeira requisição
+ * autenticada respondida e o tempo até o p99 estabilizar: o p99 é calculado
+ * em janelas de 1 s e o estável é a mediana das últimas 5 janelas; a
+ * instância está estável a partir da primeira janela em que todas as
+ * seguintes ficam até 25% acima dele.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.gerenciador_loja_benchmarks.InicioServidor \
+ *     http://localhost:8080 usuario senha 32 60 -- \
+ *     java -XX:SharedArchiveFile=../gerenciador_loja_backend/target/gerenciador_loja_backend.jsa \
+ *          -Dspring.aot.enabled=true -jar ../gerenciador_loja_backend/target/gerenciador_loja_backend-0.0.1-SNAPSHOT-classes.jar \
+ *          --spring.profiles.active=inicio-rapido --api.limite.habilitado=false
+ * </pre>
+ * É o comando com que os tempos do perfil inicio-rapido foram medidos: o
+ * -classes.jar, com as dependências em target/lib, é o mesmo classpath do
+ * treino que gravou o .jsa. A referência sem o perfil foi o jar executável
+ * ({@code java -jar ...-SNAPSHOT.jar}), que não usa o arquivo CDS.
+ * <p>
+ * O limite de requisições por cliente precisa estar desligado na instância
+ * medida, senão a carga de um único usuário vira respostas 429.
+ */
+public class InicioServidor {
+
+    private static final long JANELA = Duration.ofSeconds(1).toNanos();
+    private static final int JANELAS_ESTAVEIS = 5;
+    private static final double TOLERANCIA_P99 = 1.25;
+
+    public static void main(String[] args) throws Exception {
+        int separador = Arrays.asList(args).indexOf("--");
+        if (separador < 5 || separador == args.length - 1) {
+            System.err.println("uso: InicioServidor <baseUrl> <usuario> <senha> <clientes> <segundos> -- <comando do backend...>");
+            System.exit(2);
+        }
+        String base = args[0];
+        int clientes = Integer.parseInt(args[3]);
+        Duration duracao = Duration.ofSeconds(Long.parseLong(args[4]));
+        List<String> comando = Arrays.asList(args).subList(separador + 1, args.length);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        File log = File.createTempFile("inicio-servidor", ".log");
+
+        long inicio = System.nanoTime();
+        Process backend = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long pronto = esperarReadiness(http, base, backend) - inicio;
+
+            String token = CargaHttp.login(http, base, args[1], args[2]);
+            HttpResponse<Void> primeira = http.send(get(base + "/pedidos", token), HttpResponse.BodyHandlers.discarding());
+            long primeiraRequisicao = System.nanoTime() - inicio;
+            if (primeira.statusCode() >= 400) {
+                throw new IllegalStateException("Primeira requisição respondeu " + primeira.statusCode());
+            }
+
+            List<long[]> amostras = carga(http, base, token, clientes, duracao);
+            relatorio(amostras, inicio, pronto, primeiraRequisicao, clientes);
+        } finally {
+            backend.destroy();
+            if (!backend.waitFor(30, TimeUnit.SECONDS)) {
+                backend.destroyForcibly();
+            }
+            System.out.println("log do backend: " + log);
+        }
+    }
+
+    // /readyz: probe de readiness do backend na porta pública
+    private static long esperarReadiness(HttpClient http, String base, Process backend) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(base + "/readyz"))
+                .timeout(Duration.ofSeconds(1)).GET().build();
+        while (true) {
+            if (!backend.isAlive()) {
+                throw new IllegalStateException("O backend terminou antes de ficar pronto (código " + backend.exitValue() + ")");
+            }
+            try {
+                HttpResponse<String> resposta = http.send(readiness, HttpResponse.BodyHandlers.ofString());
+                if (resposta.statusCode() == 200 && resposta.body().contains("\"UP\"")) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // porta ainda fechada
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    // Cada amostra: [fim da requisição (nanoTime), latência (ns)]
+    private static List<long[]> carga(HttpClient http, String base, String token, int clientes, Duration duracao)
+            throws InterruptedException {
+        List<String> caminhos = List.of("/pedidos", "/clientes", "/pedidos/busca");
+        AtomicLong erros = new AtomicLong();
+        @SuppressWarnings("unchecked")
+        List<long[]>[] porCliente = new List[clientes];
+        CountDownLatch fim = new CountDownLatch(clientes);
+        long termino = System.nanoTime() + duracao.toNanos();
+
+        for (int c = 0; c < clientes; c++) {
+            int cliente = c;
+            Thread thread = new Thread(() -> {
+                List<long[]> minhas = new ArrayList<>();
+                int n = 0;
+                try {
+                    while (System.nanoTime() < termino) {
+                        HttpRequest requisicao = get(base + caminhos.get(n++ % caminhos.size()), token);
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 400) erros.incrementAndGet();
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        long agora = System.nanoTime();
+                        minhas.add(new long[] {agora, agora - inicio});
+                    }
+                } finally {
+                    porCliente[cliente] = minhas;
+                    fim.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        fim.await();
+
+        List<long[]> todas = new ArrayList<>();
+        for (List<long[]> amostras : porCliente) todas.addAll(amostras);
+        todas.sort((a, b) -> Long.compare(a[0], b[0]));
+        System.out.printf("requisicoes=%d erros=%d%n", todas.size(), erros.get());
+        return todas;
+    }
+
+    private static void relatorio(List<long[]> amostras, long inicio, long pronto, long primeiraRequisicao, int clientes) {
+        if (amostras.isEmpty()) {
+            System.out.println("nenhuma requisição na fase de carga");
+            return;
+        }
+        long comeco = amostras.get(0)[0];
+        int janelas = (int) ((amostras.get(amostras.size() - 1)[0] - comeco) / JANELA) + 1;
+        List<List<Long>> porJanela = new ArrayList<>();
+        for (int j = 0; j < janelas; j++) porJanela.add(new ArrayList<>());
+        for (long[] amostra : amostras) {
+            porJanela.get((int) ((amostra[0] - comeco) / JANELA)).add(amostra[1]);
+        }
+
+        long[] p99 = new long[janelas];
+        System.out.println("janela(s desde o início)  requisicoes  p99 ms");
+        for (int j = 0; j < janelas; j++) {
+            long[] latencias = porJanela.get(j).stream().mapToLong(Long::longValue).sorted().toArray();
+            p99[j] = CargaHttp.percentil(latencias, 99);
+            System.out.printf("%24.1f  %11d  %6.1f%n",
+                    (comeco - inicio + j * JANELA) / 1e9, latencias.length, CargaHttp.ms(p99[j]));
+        }
+
+        long[] finais = Arrays.copyOfRange(p99, Math.max(0, janelas - JANELAS_ESTAVEIS), janelas);
+        Arrays.sort(finais);
+        long estavel = finais[finais.length / 2];
+        int primeiraEstavel = janelas - 1;
+        while (primeiraEstavel > 0 && p99[primeiraEstavel - 1] <= estavel * TOLERANCIA_P99) {
+            primeiraEstavel--;
+        }
+        long ateEstavel = comeco - inicio + primeiraEstavel * JANELA;
+
+        System.out.printf("clientes=%d%n", clientes);
+        System.out.printf("ate readiness UP:        %8.0f ms%n", CargaHttp.ms(pronto));
+        System.out.printf("ate primeira requisicao: %8.0f ms%n", CargaHttp.ms(primeiraRequisicao));
+        System.out.printf("ate p99 estavel:         %8.0f ms (p99 estavel %.1f ms)%n",
+                CargaHttp.ms(ateEstavel), CargaHttp.ms(estavel));
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.gerenciador_loja_benchmarks;
+
+import com.example.gerenciador_loja_backend.dtos.PedidoResponseDto;
+import com.example.gerenciador_loja_backend.models.Pedido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialização de um Pedido com N itens, com o ObjectMapper configurado como no Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoPedidoBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int quantidadeItens;
+
+    private ObjectMapper objectMapper;
+    private Pedido pedido;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pedido = Fixtures.pedido(quantidadeItens);
+    }
+
+    @Benchmark
+    public byte[] serializarEntidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+
+    // Caminho real das respostas: projeção para DTO + serialização
+    @Benchmark
+    public byte[] serializarDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PedidoResponseDto.de(pedido));
+    }
+}